@@ -0,0 +1,65 @@
+package com.udacity.gamedev.spacekerfuffle.benchmark;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.viewport.ExtendViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.udacity.gamedev.spacekerfuffle.util.Assets;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+
+/**
+ * Shared setup for all benchmarks.  Starts a headless libGDX application so that Gdx.files and
+ * Gdx.app are available, loads assets without textures and reseeds the global random generator so
+ * that every fork sees the same sequence of "random" enemies, projectiles and stars.
+ */
+public class BenchmarkEnvironment {
+
+    public static final long RANDOM_SEED = 0x5EEDL;
+
+    //Headless main loop only needs to keep the application alive, so it renders once a second.
+    private static final float RENDER_INTERVAL = 1f;
+
+    /**
+     * Starts the headless application if it isn't already running and resets the random seed.
+     * Safe to call from every @Setup method.
+     */
+    public static void init() {
+        if (Gdx.app == null) {
+            HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+            config.renderInterval = RENDER_INTERVAL;
+            new HeadlessApplication(new ApplicationAdapter() {}, config);
+            //Level logs on every init(), which would otherwise flood the benchmark output.
+            Gdx.app.setLogLevel(Application.LOG_ERROR);
+            Assets.instance.initWithoutRendering();
+        }
+        reseed();
+    }
+
+    /**
+     * Resets the global random generator to the benchmark seed, so that scenes built afterwards
+     * are identical.
+     */
+    public static void reseed() {
+        MathUtils.random.setSeed(RANDOM_SEED);
+    }
+
+    /**
+     * Creates a viewport covering the default world size.  The viewport is never applied, so its
+     * world size is set directly.
+     * @return  New viewport.
+     */
+    public static Viewport createViewport() {
+        ExtendViewport viewport = new ExtendViewport(
+                GameplayConstants.WORLD_WIDTH,
+                GameplayConstants.WORLD_HEIGHT,
+                GameplayConstants.WORLD_WIDTH,
+                Float.MAX_VALUE
+        );
+        viewport.setWorldSize(GameplayConstants.WORLD_WIDTH, GameplayConstants.WORLD_HEIGHT);
+        return viewport;
+    }
+}
@@ -0,0 +1,75 @@
+package com.udacity.gamedev.spacekerfuffle.benchmark;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
+import com.udacity.gamedev.spacekerfuffle.util.GameClock;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures EnemyShip.update() for each MovementPatterns value.  A batch of enemies shares one
+ * clock that advances a frame per invocation, so phase changes happen at the rate they do in game.
+ * Results are per enemy update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class EnemyShipBenchmark {
+
+    private static final int ENEMY_COUNT = 256;
+    private static final float DELTA = 1f / 60;
+
+    @Param
+    public EnemyShip.MovementPatterns movePattern;
+
+    private GameClock clock;
+    private EnemyShip[] enemies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        clock = new GameClock();
+        enemies = new EnemyShip[ENEMY_COUNT];
+        for (int i = 0; i < ENEMY_COUNT; i++) {
+            EnemyShip enemy = new EnemyShip(
+                    MathUtils.random(GameplayConstants.WORLD_WIDTH),
+                    MathUtils.random(GameplayConstants.WORLD_HEIGHT),
+                    movePattern,
+                    EnemyShip.MovePhaseDuration.MEDIUM,
+                    EnemyShip.Speed.MEDIUM,
+                    EnemyShip.FiringPattern.SIMPLE,
+                    EnemyShip.FireRate.MEDIUM
+            );
+            enemy.setClock(clock);
+            enemy.init();
+            enemies[i] = enemy;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENEMY_COUNT)
+    public EnemyShip[] update() {
+        float delta = clock.tick(DELTA);
+        for (EnemyShip enemy : enemies) {
+            enemy.update(delta);
+        }
+        return enemies;
+    }
+}
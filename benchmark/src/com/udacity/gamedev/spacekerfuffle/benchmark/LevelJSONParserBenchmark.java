@@ -0,0 +1,70 @@
+package com.udacity.gamedev.spacekerfuffle.benchmark;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.JsonValue;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+import com.udacity.gamedev.spacekerfuffle.util.LevelBinaryFormat;
+import com.udacity.gamedev.spacekerfuffle.util.LevelJSONParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading the level file: parsing the JSON itself, building the enemy and powerup spawn
+ * lists from the already parsed tree as LevelJSONParser does, and reading the same lists from the
+ * precompiled binary level (already in memory) as LevelLoader does at level start.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class LevelJSONParserBenchmark {
+
+    private JsonValue root;
+    private byte[] binaryLevel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        root = LevelJSONParser.parse(Gdx.files.internal(GameplayConstants.LEVEL_JSON_FILEPATH));
+        binaryLevel = Gdx.files.internal(GameplayConstants.LEVEL_BINARY_FILEPATH).readBytes();
+    }
+
+    @Benchmark
+    public JsonValue parseLevelFile() {
+        return LevelJSONParser.parse(Gdx.files.internal(GameplayConstants.LEVEL_JSON_FILEPATH));
+    }
+
+    @Benchmark
+    public ArrayList<EnemySpawn> getEnemySpawns() {
+        return LevelJSONParser.getEnemySpawns(root);
+    }
+
+    @Benchmark
+    public ArrayList<PowerupSpawn> getPowerupSpawns() {
+        return LevelJSONParser.getPowerupSpawns(root);
+    }
+
+    @Benchmark
+    public ArrayList<EnemySpawn> readBinaryLevel() {
+        ArrayList<EnemySpawn> enemies = new ArrayList<EnemySpawn>();
+        LevelBinaryFormat.read(ByteBuffer.wrap(binaryLevel), enemies, new ArrayList<PowerupSpawn>());
+        return enemies;
+    }
+}
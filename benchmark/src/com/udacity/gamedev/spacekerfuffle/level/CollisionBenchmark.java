@@ -0,0 +1,53 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.udacity.gamedev.spacekerfuffle.benchmark.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CollisionSystem on its own.  LevelScenes keeps player lasers below the enemies and
+ * enemy lasers away from the player, so no collision actually happens and the scene stays the same
+ * between invocations: this is the cost of rebuilding the broadphase and running every query.  (As
+ * nothing is removed, it is safe to run the system outside of Engine.update().)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class CollisionBenchmark {
+
+    @Param({"16", "64", "256"})
+    public int enemyCount;
+
+    @Param({"64", "1024", "5000"})
+    public int projectileCount;
+
+    private Level level;
+    private CollisionSystem collisionSystem;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        level = LevelScenes.createLevel(BenchmarkEnvironment.createViewport(), enemyCount, projectileCount);
+        collisionSystem = level.getEngine().getSystem(CollisionSystem.class);
+    }
+
+    @Benchmark
+    public int detectCollisions() {
+        collisionSystem.update(0);
+        return level.score;
+    }
+}
@@ -0,0 +1,179 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.viewport.ExtendViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.udacity.gamedev.spacekerfuffle.benchmark.BenchmarkEnvironment;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
+import com.udacity.gamedev.spacekerfuffle.entities.Laser;
+import com.udacity.gamedev.spacekerfuffle.entities.PlayerShip;
+import com.udacity.gamedev.spacekerfuffle.entities.ProjectileSink;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ActorComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.EnemyComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.LifetimeComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.MissileComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.MissileExplosionComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.PowerupComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ShooterComponent;
+import com.udacity.gamedev.spacekerfuffle.util.GameClock;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-entity cost of a frame's movement and firing before and after the move to
+ * Ashley.  inheritanceLoop walks a plain array of entities the way Level.update() used to;
+ * ashleySystems runs the MovementSystem and TimerSystem over the same enemies through an Engine.
+ * Enemies fire from timers on the clock in both, so inheritanceLoop runs the due timers itself.
+ * The viewport is made large enough that nothing leaves the screen, and fired lasers are counted
+ * rather than stored, so both variants do the same work every frame.  Results are per entity.
+ *
+ * removeAndAdd measures what Ashley charges for an entity leaving the level, which the registry
+ * used to do in constant time: the engine and each family remove by searching their arrays and
+ * shifting the rest down, so the cost grows with the number of entities.  It removes a random
+ * enemy and adds it straight back, with the same families the Level registers, at the headless
+ * simulation's peak entity count and above.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class EntityUpdateBenchmark {
+
+    private static final int ENEMY_COUNT = 256;
+    private static final float DELTA = 1f / 60;
+    //Enemies wander for the length of an iteration, so the world is much bigger than the screen.
+    private static final float WORLD_SCALE = 1000;
+
+    private Viewport viewport;
+    private GameClock clock;
+    private Array<AbstractEntity> entities;
+    private ProjectileSink sink;
+    private Engine engine;
+    private int lasersFired;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        viewport = new ExtendViewport(GameplayConstants.WORLD_WIDTH, GameplayConstants.WORLD_HEIGHT);
+        viewport.setWorldSize(
+                GameplayConstants.WORLD_WIDTH * WORLD_SCALE,
+                GameplayConstants.WORLD_HEIGHT * WORLD_SCALE
+        );
+        float offsetX = viewport.getWorldWidth() / 2;
+        float offsetY = viewport.getWorldHeight() / 2;
+        clock = new GameClock();
+        sink = new CountingSink();
+        PlayerShip target = new PlayerShip(viewport);
+        entities = new Array<AbstractEntity>(ENEMY_COUNT);
+        engine = new Engine();
+        engine.addSystem(new MovementSystem(viewport, new LaserStore()));
+        engine.addSystem(new TimerSystem(clock));
+        for (int i = 0; i < ENEMY_COUNT; i++) {
+            EnemyShip enemy = LevelScenes.createRandomEnemy(
+                    offsetX + MathUtils.random(GameplayConstants.WORLD_WIDTH),
+                    offsetY + MathUtils.random(GameplayConstants.WORLD_HEIGHT)
+            );
+            enemy.setTarget(target);
+            enemy.setProjectileSink(sink);
+            enemy.setClock(clock);
+            enemy.init();
+            entities.add(enemy);
+            engine.addEntity(enemy.getEcsEntity());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENEMY_COUNT)
+    public int inheritanceLoop() {
+        float delta = clock.tick(DELTA);
+        for (int i = 0; i < entities.size; i++) {
+            AbstractEntity entity = entities.get(i);
+            entity.update(delta);
+            if (entity.offScreen(viewport)) continue;
+            entity.emitProjectiles(sink);
+        }
+        clock.getTimers().advance(clock.now());
+        return lasersFired;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENEMY_COUNT)
+    public int ashleySystems() {
+        engine.update(clock.tick(DELTA));
+        return lasersFired;
+    }
+
+    @Benchmark
+    public int removeAndAdd(Churn churn) {
+        Entity entity = churn.entities[MathUtils.random(churn.entities.length - 1)];
+        churn.engine.removeEntity(entity);
+        churn.engine.addEntity(entity);
+        return churn.engine.getEntities().size();
+    }
+
+    @State(Scope.Thread)
+    public static class Churn {
+
+        //18 is the peak entity count of the headless simulation.
+        @Param({"18", "64", "256"})
+        public int entityCount;
+
+        private Engine engine;
+        private Entity[] entities;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Trial)
+        public void setUp() {
+            BenchmarkEnvironment.init();
+            engine = new Engine();
+            //The families the Level's systems register.
+            engine.getEntitiesFor(Family.all(ActorComponent.class).get());
+            engine.getEntitiesFor(Family.all(ActorComponent.class, ShooterComponent.class).get());
+            engine.getEntitiesFor(Family.all(ActorComponent.class, LifetimeComponent.class).get());
+            engine.getEntitiesFor(Family.all(EnemyComponent.class).get());
+            engine.getEntitiesFor(Family.all(MissileComponent.class).get());
+            engine.getEntitiesFor(Family.all(PowerupComponent.class).get());
+            engine.getEntitiesFor(Family.all(MissileExplosionComponent.class).get());
+            entities = new Entity[entityCount];
+            for (int i = 0; i < entityCount; i++) {
+                EnemyShip enemy = LevelScenes.createRandomEnemy(
+                        MathUtils.random(GameplayConstants.WORLD_WIDTH),
+                        MathUtils.random(GameplayConstants.WORLD_HEIGHT)
+                );
+                entities[i] = enemy.getEcsEntity();
+                engine.addEntity(entities[i]);
+            }
+        }
+    }
+
+    private class CountingSink implements ProjectileSink {
+
+        @Override
+        public void fireLaser(float x, float y, float headingX, float headingY, boolean playerLaser, Laser.LaserType type) {
+            lasersFired++;
+        }
+
+        @Override
+        public void fireMissile(float x, float y, Vector2 heading) {}
+    }
+}
@@ -0,0 +1,70 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.udacity.gamedev.spacekerfuffle.benchmark.BenchmarkEnvironment;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures LevelBackground.update() for each starfield Density, with moving stars updated one by
+ * one and scrolled by the ShaderStarfield, and resizeUpdate() for a window alternating between two
+ * heights.  Chunks that leave the screen are recycled, so the starfield only needs to be built once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class LevelBackgroundBenchmark {
+
+    private static final float DELTA = 1f / 60;
+    //Height the resized window alternates with the default world height.
+    private static final float RESIZED_HEIGHT = GameplayConstants.WORLD_HEIGHT * 1.5f;
+
+    @Param
+    public LevelBackground.Density density;
+
+    @Param({"false", "true"})
+    public boolean shaderStarfield;
+
+    private Viewport viewport;
+    private LevelBackground background;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        viewport = BenchmarkEnvironment.createViewport();
+        background = new LevelBackground(viewport, BenchmarkEnvironment.RANDOM_SEED);
+        background.setDensity(density);
+        background.setShaderStarfield(shaderStarfield);
+        background.createStarfield();
+    }
+
+    @Benchmark
+    public LevelBackground update() {
+        background.update(DELTA);
+        return background;
+    }
+
+    @Benchmark
+    public LevelBackground resize() {
+        float height = (viewport.getWorldHeight() == GameplayConstants.WORLD_HEIGHT)
+                ? RESIZED_HEIGHT : GameplayConstants.WORLD_HEIGHT;
+        viewport.setWorldSize(GameplayConstants.WORLD_WIDTH, height);
+        background.resizeUpdate();
+        return background;
+    }
+}
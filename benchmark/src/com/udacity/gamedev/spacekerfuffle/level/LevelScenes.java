@@ -0,0 +1,78 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
+import com.udacity.gamedev.spacekerfuffle.entities.Laser;
+
+/**
+ * Builds levels with a given number of enemies and projectiles already on screen, for benchmarks.
+ * Everything is placed using MathUtils.random, so scenes are reproducible as long as the random
+ * generator is seeded first (see BenchmarkEnvironment.init()).
+ */
+class LevelScenes {
+
+    //Enemies and enemy lasers are kept in the top part of the screen, player lasers below it.
+    private static final float ENEMY_ZONE_BOTTOM = 0.6f;
+    private static final float PLAYER_LASER_ZONE_TOP = 0.4f;
+    private static final float PLAYER_LASER_ZONE_BOTTOM = 0.2f;
+
+    /**
+     * Creates a level with no scripted enemies or powerups, then fills it with random on-screen
+     * enemies and projectiles.  Half of the projectiles are player lasers heading north, half are
+     * enemy lasers heading south.
+     * @param  viewport  Viewport for the level.
+     * @param  enemyCount  Number of enemies to add.
+     * @param  projectileCount  Number of lasers to add.
+     * @return  The populated level.
+     */
+    static Level createLevel(Viewport viewport, int enemyCount, int projectileCount) {
+        Level level = new Level(viewport, LevelTemplate.EMPTY);
+        float width = viewport.getWorldWidth();
+        float height = viewport.getWorldHeight();
+        for (int i = 0; i < enemyCount; i++) {
+            EnemyShip enemy = createRandomEnemy(
+                    MathUtils.random(width),
+                    MathUtils.random(ENEMY_ZONE_BOTTOM * height, height)
+            );
+            enemy.setTarget(level.playerShip);
+            enemy.setProjectileSink(level.getProjectileSink());
+            level.addEntity(enemy);
+        }
+        for (int i = 0; i < projectileCount; i++) {
+            boolean playerLaser = i % 2 == 0;
+            float x = MathUtils.random(width);
+            float y = (playerLaser)
+                    ? MathUtils.random(PLAYER_LASER_ZONE_BOTTOM * height, PLAYER_LASER_ZONE_TOP * height)
+                    : MathUtils.random(ENEMY_ZONE_BOTTOM * height, height);
+            level.getLasers().add(
+                    x, y,
+                    0, (playerLaser) ? 1 : -1,
+                    playerLaser,
+                    (playerLaser) ? Laser.LaserType.BLUE : Laser.LaserType.RED
+            );
+        }
+        return level;
+    }
+
+    /**
+     * Creates an enemy with random movement, speed and firing settings.
+     * @param  x  x coordinate of the enemy.
+     * @param  y  y coordinate of the enemy.
+     * @return  New enemy, not yet added to a level.
+     */
+    static EnemyShip createRandomEnemy(float x, float y) {
+        return new EnemyShip(
+                x, y,
+                randomValue(EnemyShip.MovementPatterns.values()),
+                randomValue(EnemyShip.MovePhaseDuration.values()),
+                randomValue(EnemyShip.Speed.values()),
+                randomValue(EnemyShip.FiringPattern.values()),
+                randomValue(EnemyShip.FireRate.values())
+        );
+    }
+
+    private static <T> T randomValue(T[] values) {
+        return values[MathUtils.random(values.length - 1)];
+    }
+}
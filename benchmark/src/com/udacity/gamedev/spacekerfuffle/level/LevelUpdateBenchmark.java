@@ -0,0 +1,67 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.udacity.gamedev.spacekerfuffle.benchmark.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Level.update() at different enemy and projectile densities.  Every invocation starts
+ * from the same freshly built scene and simulates one second of game time, so that enemies dying
+ * and projectiles leaving the screen don't make later invocations cheaper than earlier ones.
+ * Results are per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class LevelUpdateBenchmark {
+
+    private static final int FRAMES_PER_INVOCATION = 60;
+    private static final float DELTA = 1f / FRAMES_PER_INVOCATION;
+
+    @Param({"0", "16", "64"})
+    public int enemyCount;
+
+    @Param({"0", "256", "5000"})
+    public int projectileCount;
+
+    private Level level;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUpTrial() {
+        BenchmarkEnvironment.init();
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void setUpScene() {
+        if (level != null) {
+            //Returns the previous scene's pooled projectiles, as restarting the game would.
+            level.init();
+        }
+        BenchmarkEnvironment.reseed();
+        level = LevelScenes.createLevel(BenchmarkEnvironment.createViewport(), enemyCount, projectileCount);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES_PER_INVOCATION)
+    public int update() {
+        for (int i = 0; i < FRAMES_PER_INVOCATION; i++) {
+            level.update(DELTA);
+        }
+        return level.getEntityCount();
+    }
+}
@@ -6,15 +6,18 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
-import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
-import com.udacity.gamedev.spacekerfuffle.entities.Powerup;
+import com.udacity.gamedev.spacekerfuffle.level.EndlessSpawnSource;
 import com.udacity.gamedev.spacekerfuffle.level.Hud;
 import com.udacity.gamedev.spacekerfuffle.level.Level;
 import com.udacity.gamedev.spacekerfuffle.level.LevelBackground;
+import com.udacity.gamedev.spacekerfuffle.level.LevelTemplate;
+import com.udacity.gamedev.spacekerfuffle.level.TemplateSpawnSource;
+import com.udacity.gamedev.spacekerfuffle.util.Assets;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
-import com.udacity.gamedev.spacekerfuffle.util.LevelJSONParser;
-
-import java.util.ArrayList;
+import com.udacity.gamedev.spacekerfuffle.util.LevelLoader;
+import com.udacity.gamedev.spacekerfuffle.util.LevelPreloader;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
 
 /**
  * Screen class that is delegated to during gameplay.
@@ -24,16 +27,32 @@ public class GameplayScreen extends ScreenAdapter {
     public static final String LOG_TAG = GameplayScreen.class.getName();
 
     private SpriteBatch batch;
+    private RenderQueue renderQueue;
     public ExtendViewport viewport;
 
     private Level level;
     private LevelBackground levelBackground;
     private Hud hud;
+    //Index into the level sequence.  The next level is preloaded while this one is played.
+    private int levelIndex;
+    private LevelPreloader preloader;
+    //Seed of the generated level in endless mode, null to play the normal level.
+    private Long endlessSeed;
 
     public GameplayScreen(Viewport viewport, LevelBackground levelBackground) {
+        this(viewport, levelBackground, null);
+    }
+
+    /**
+     * @param  viewport  Viewport to play the level in.
+     * @param  levelBackground  Background shared with the opening screen.
+     * @param  endlessSeed  Seed for an endless level, or null to play the normal level.
+     */
+    public GameplayScreen(Viewport viewport, LevelBackground levelBackground, Long endlessSeed) {
         super();
         this.viewport = (ExtendViewport) viewport;
         this.levelBackground = levelBackground;
+        this.endlessSeed = endlessSeed;
     }
 
     @Override
@@ -44,6 +63,8 @@ public class GameplayScreen extends ScreenAdapter {
         Gdx.input.setInputProcessor(hud);
 
         batch = new SpriteBatch();
+        renderQueue = new RenderQueue();
+        preloader = new LevelPreloader();
 
         initLevel();
 
@@ -67,45 +88,91 @@ public class GameplayScreen extends ScreenAdapter {
         );
         Gdx.gl20.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+        //Loads anything the preloader queued, a step per frame.
+        Assets.instance.update();
+
+        FrameProfiler profiler = FrameProfiler.instance;
+        profiler.begin(FrameProfiler.Phase.BACKGROUND_UPDATE);
         levelBackground.update(delta);
+        profiler.end(FrameProfiler.Phase.BACKGROUND_UPDATE);
 
         if (level.state == Level.State.PLAYING) {
             level.update(delta);
+            profiler.begin(FrameProfiler.Phase.HUD_UPDATE);
             hud.updateUiText(level.playerShip, level.score, (int) level.secondsSinceStart());
             if (level.state == Level.State.LOSE) {
                 hud.lose();
-            } else if (level.state == Level.State.WIN) {
+            } else if (level.state == Level.State.WIN && !advanceLevel()) {
                 hud.win();
             }
+            profiler.end(FrameProfiler.Phase.HUD_UPDATE);
         }
 
+        //The HUD is drawn first, as it always has been, so the world is drawn over it.  It keeps its
+        //Stage's own batch, so it isn't part of the RenderQueue.
+        profiler.begin(FrameProfiler.Phase.HUD_DRAW);
         hud.draw();
+        profiler.end(FrameProfiler.Phase.HUD_DRAW);
 
+        profiler.begin(FrameProfiler.Phase.WORLD_RENDER);
+        levelBackground.renderStatic(viewport.getCamera().combined);
         batch.setProjectionMatrix(viewport.getCamera().combined);
-        batch.begin();
-        levelBackground.render(batch);
-        level.render(batch);
-        batch.end();
+        renderQueue.setView(viewport.getCamera());
+        levelBackground.render(renderQueue);
+        level.render(renderQueue);
+        renderQueue.render(batch);
+        profiler.end(FrameProfiler.Phase.WORLD_RENDER);
 
+        profiler.endFrame();
     }
 
     /**
-     * Loads and initializes the level.
+     * Loads and initializes the first level the first time, restarts from the first level
+     * afterwards.
      */
     public void initLevel() {
-        Gdx.app.log(LOG_TAG, "Loading level data.");
-        ArrayList<EnemyShip> enemies = LevelJSONParser.getEnemyArray();
-        ArrayList<Powerup> powerups = LevelJSONParser.getPowerupArray();
-        Gdx.app.log(LOG_TAG, "Level data loaded");
-
-        level = new Level(viewport, enemies, powerups);
-        //Level with no enemies for debugging:
-        //level = new Level(viewport, new ArrayList<EnemyShip>(), new ArrayList<Powerup>());
+        if (level == null && endlessSeed != null) {
+            Gdx.app.log(LOG_TAG, "Starting endless level with seed " + endlessSeed + ".");
+            level = new Level(viewport, new EndlessSpawnSource(endlessSeed));
+        } else if (level == null) {
+            Gdx.app.log(LOG_TAG, "Loading level data.");
+            LevelTemplate template = LevelLoader.getTemplate();
+            Gdx.app.log(LOG_TAG, "Level data loaded");
+
+            level = new Level(viewport, template);
+            //Level with no enemies for debugging:
+            //level = new Level(viewport, LevelTemplate.EMPTY);
+        } else if (levelIndex > 0) {
+            level.init(new TemplateSpawnSource(LevelLoader.getTemplate()));
+        } else {
+            level.init();
+        }
+        levelIndex = 0;
+        if (endlessSeed == null) {
+            preloader.preload(levelIndex + 1);
+        }
         hud.init();
+        //Batch statistics of the previous attempt, if any.
+        if (renderQueue.getTotalRenderCalls() > 0) renderQueue.logStats();
+        renderQueue.resetStats();
+    }
+
+    /**
+     * Moves on to the next level of the sequence after a win, using the preloaded level data.
+     * @return  true if there was a next level, false if the last level has been won.
+     */
+    private boolean advanceLevel() {
+        if (levelIndex + 1 >= LevelLoader.getLevelCount()) return false;
+        levelIndex++;
+        level.advance(new TemplateSpawnSource(preloader.get(levelIndex)));
+        preloader.preload(levelIndex + 1);
+        return true;
     }
 
     @Override
     public void hide() {
         super.hide();
+        preloader.dispose();
+        renderQueue.logStats();
     }
 }
@@ -13,10 +13,12 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.udacity.gamedev.spacekerfuffle.level.LevelBackground;
 import com.udacity.gamedev.spacekerfuffle.util.Assets;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
 import com.udacity.gamedev.spacekerfuffle.util.UiConstants;
 
 /**
@@ -31,6 +33,7 @@ public class OpeningScreen extends ScreenAdapter {
     private Stage stage;
     private ExtendViewport viewport;
     private SpriteBatch batch;
+    private RenderQueue renderQueue;
 
     public OpeningScreen(Game game) {
         super();
@@ -53,6 +56,7 @@ public class OpeningScreen extends ScreenAdapter {
         background = new LevelBackground(viewport);
         stage = new Stage(viewport);
         batch = new SpriteBatch();
+        renderQueue = new RenderQueue();
         Table table = new Table();
         table.setSkin(UiConstants.UI_SKIN);
         table.add(new Label(UiConstants.TITLE_TEXT_LINE_ONE, UiConstants.UI_SKIN, "title")).center();
@@ -69,6 +73,16 @@ public class OpeningScreen extends ScreenAdapter {
         playButton.setAlignment(Align.center);
         table.add(playButton).center().minWidth(viewport.getWorldWidth() * UiConstants.MIN_BUTTON_WIDTH_RATIO);
         table.row();
+        Label endlessButton = new Label(UiConstants.ENDLESS_BUTTON_TEXT, UiConstants.UI_SKIN, "button");
+        endlessButton.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                playEndless();
+            }
+        });
+        endlessButton.setAlignment(Align.center);
+        table.add(endlessButton).center().minWidth(viewport.getWorldWidth() * UiConstants.MIN_BUTTON_WIDTH_RATIO);
+        table.row();
         table.add(UiConstants.CONTROLS).center();
         table.row();
         table.add(UiConstants.MOVE_CONTROL_LABEL).center();
@@ -98,10 +112,11 @@ public class OpeningScreen extends ScreenAdapter {
 
         stage.draw();
 
+        background.renderStatic(viewport.getCamera().combined);
         batch.setProjectionMatrix(viewport.getCamera().combined);
-        batch.begin();
-        background.render(batch);
-        batch.end();
+        renderQueue.setView(viewport.getCamera());
+        background.render(renderQueue);
+        renderQueue.render(batch);
     }
 
     /**
@@ -111,10 +126,22 @@ public class OpeningScreen extends ScreenAdapter {
         game.setScreen(new GameplayScreen(viewport, background));
     }
 
+    /**
+     * Method connected to Endless button, begins an endless level with a new seed.
+     */
+    public void playEndless() {
+        game.setScreen(new GameplayScreen(viewport, background, TimeUtils.millis()));
+    }
+
     @Override
     public void resize(int width, int height) {
         viewport.update(width, height, true);
         background.resizeUpdate();
     }
 
+    @Override
+    public void dispose() {
+        background.dispose();
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.udacity.gamedev.spacekerfuffle;
 
 import com.badlogic.gdx.Game;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
 import com.udacity.gamedev.spacekerfuffle.util.UiConstants;
 
 public class SpaceKerfuffleGame extends Game {
@@ -10,4 +11,10 @@ public class SpaceKerfuffleGame extends Game {
 		UiConstants.initSkin();
 		setScreen(new OpeningScreen(this));
 	}
+
+	@Override
+	public void dispose () {
+		super.dispose();
+		FrameProfiler.instance.writeExitCsv();
+	}
 }
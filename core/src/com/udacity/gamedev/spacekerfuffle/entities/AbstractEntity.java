@@ -1,30 +1,35 @@
 package com.udacity.gamedev.spacekerfuffle.entities;
 
-import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Pool;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ActorComponent;
+import com.udacity.gamedev.spacekerfuffle.util.GameClock;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
 
 /**
  * Abstract class that provides general functionality of game entities.  Parent of ships, powerups,
- * projectiles.
+ * projectiles.  Short-lived entities are pooled (see EntityPools), and reset() clears the state
+ * they share before they are reused.
  */
-public abstract class AbstractEntity implements Comparable<AbstractEntity> {
-
-    public final String LOG_TAG = this.getClass().getName();
+public abstract class AbstractEntity implements Comparable<AbstractEntity>, Pool.Poolable {
 
     private EntityType type;
+    //Ashley entity representing this object in a level, created on first use and kept while the
+    //object is pooled so that re-adding it doesn't allocate.
+    private Entity ecsEntity;
 
     protected Vector2 position;
     protected Vector2 heading;
     protected boolean trackHeading = false;
     protected float rotation = 0;
 
-    protected long spawnTime;
+    protected double spawnTime;
 
     protected Viewport viewport;
+    protected GameClock clock;
 
     public AbstractEntity() {
         position = new Vector2();
@@ -37,27 +42,22 @@ public abstract class AbstractEntity implements Comparable<AbstractEntity> {
     }
 
     /**
-     * Draws the object at current position using texture from getTextureRegion() method.
-     * @param  batch  Batch to draw the object with.
+     * Queues the object at current position using texture from getTextureRegion() method, in the
+     * layer of its type.
+     * @param  queue  Queue to draw the object with.
      */
-    public void render(Batch batch) {
-        TextureRegion region = getTextureRegion();
-        batch.draw(
-                region.getTexture(),
+    public void render(RenderQueue queue) {
+        queue.draw(
+                RenderQueue.Layer.of(getType()),
+                getTextureRegion(),
                 position.x - getWidth() / 2,
                 position.y - getHeight() / 2,
                 getWidth() / 2,
                 getHeight() / 2,
                 getWidth(),
                 getHeight(),
-                1, 1,
                 rotation,
-                region.getRegionX(),
-                region.getRegionY(),
-                region.getRegionWidth(),
-                region.getRegionHeight(),
-                getIsReflectedHorizontal(),
-                false
+                getIsReflectedHorizontal()
         );
     }
 
@@ -101,6 +101,17 @@ public abstract class AbstractEntity implements Comparable<AbstractEntity> {
                 position.y > viewport.getWorldHeight() + getHeight() / 2);
     }
 
+    /**
+     * Tests whether the object has been off screen at any point since it spawned, and so would
+     * already have been removed from the level.  Only the current position is checked here, which
+     * is exact for objects that move in a straight line.
+     * @param  viewport  viewport defining current screen area.
+     * @return  true if object has left screen, false otherwise.
+     */
+    public boolean leftScreen(Viewport viewport) {
+        return offScreen(viewport);
+    }
+
     /**
      * Update heading based on time since last frame to represent current motion.  After this method
      * is called and only after this method is called should the heading vector be considered
@@ -139,10 +150,10 @@ public abstract class AbstractEntity implements Comparable<AbstractEntity> {
     }
 
     /**
-     * Returns an array of Lasers fired by the object this frame.
-     * @return  Array of Lasers.
+     * Adds any projectiles fired by the object this frame to the sink.  Does nothing by default.
+     * @param  sink  ProjectileSink that receives the fired projectiles.
      */
-    public Array<Laser> getLasers() { return null; }
+    public void emitProjectiles(ProjectileSink sink) {}
 
     public abstract float getSpeed();
 
@@ -204,10 +215,49 @@ public abstract class AbstractEntity implements Comparable<AbstractEntity> {
     public boolean getIsReflectedHorizontal() { return false; }
 
     /**
-     * Initializes the entity right before they enter the game, setting their spawnTime.
+     * Initializes the entity right before they enter the game, setting their spawnTime.  The
+     * entity's clock must be set first.
      */
     public void init() {
-        spawnTime = TimeUtils.nanoTime();
+        spawnTime = clock.now();
+    }
+
+    /**
+     * Initializes the entity as if it had entered the game some time ago, for Level.seek().  Here
+     * only the spawn time is moved back; entities whose state follows from time since spawn
+     * override this to catch up with it.
+     * @param  age  Seconds since the entity would have spawned.
+     */
+    public void init(float age) {
+        init();
+        spawnTime -= age;
+    }
+
+    /**
+     * Sets the clock the entity reads time from.  Called by Level as the entity is added.
+     * @param  clock  The level's GameClock.
+     */
+    public void setClock(GameClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the number of simulated seconds since the entity was initialized.
+     * @return  Seconds since spawn as float.
+     */
+    public float secondsSinceSpawn() {
+        return clock.secondsSince(spawnTime);
+    }
+
+    /**
+     * Clears position, heading, rotation and spawn time so that a pooled entity doesn't carry over
+     * any state from its last use.  Subclasses with extra state should override and call super.
+     */
+    public void reset() {
+        position.setZero();
+        heading.setZero();
+        rotation = 0;
+        spawnTime = 0;
     }
 
     /**
@@ -236,12 +286,31 @@ public abstract class AbstractEntity implements Comparable<AbstractEntity> {
         this.type = type;
     }
 
+    /**
+     * Gets the Ashley entity for this object, creating it with an ActorComponent and the
+     * components from addComponents() the first time.
+     * @return  The Ashley entity to add to the level's engine.
+     */
+    public Entity getEcsEntity() {
+        if (ecsEntity == null) {
+            ecsEntity = new Entity();
+            ecsEntity.add(new ActorComponent(this));
+            addComponents(ecsEntity);
+        }
+        return ecsEntity;
+    }
+
+    /**
+     * Adds the components that select which systems process this object.  Does nothing by
+     * default; subclasses that override should call super.
+     * @param  entity  This object's Ashley entity.
+     */
+    protected void addComponents(Entity entity) {}
+
     public enum EntityType {
         PLAYER,
         BOSS,
         ENEMY_SHIP,
-        PLAYER_LASER,
-        ENEMY_LASER,
         MISSILE,
         POWERUP,
         EXPLOSION,
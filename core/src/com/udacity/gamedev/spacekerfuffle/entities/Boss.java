@@ -1,23 +1,27 @@
 package com.udacity.gamedev.spacekerfuffle.entities;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ShooterComponent;
 import com.udacity.gamedev.spacekerfuffle.util.Assets;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
-import com.udacity.gamedev.spacekerfuffle.util.Utilities;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
+import com.udacity.gamedev.spacekerfuffle.util.TimerWheel;
 
 /**
- * Class representing the end-of-level boss, with inner classes for different parts.
+ * Class representing the end-of-level boss, with inner classes for different parts.  Its phases and
+ * behaviors are read from a BossScript, which is compiled once and can be shared by any number of
+ * bosses.
  */
 public class Boss extends AbstractEntity {
 
-    public Phase phase;
+    public static final String LOG_TAG = Boss.class.getName();
+
+    private final BossScript script;
 
     private BossCore core;
     private BossArm leftArm;
@@ -28,71 +32,30 @@ public class Boss extends AbstractEntity {
     //For aimed shots & staying above player.
     private PlayerShip player;
 
-    private Behavior behavior;
-    private long behaviorTime;
-    private int behaviorIndex;
-    private float behaviorDuration;
-
-    private long coreFireTime;
-    private long armFireTime;
-
-    //Behavior arrays provide sequences of Behaviors for each phase.  Ideally these values would be
-    //fetched from level design JSON or similar, but they are hardcoded here for expedience.
-    private static final Behavior[] PHASE_1_BEHAVIORS = {
-            new Behavior(
-                    Motion.STRAFE,
-                    ArmFiringPattern.ALTERNATING,
-                    CoreFiringPattern.NONE,
-                    1
-            ),
-            new Behavior(
-                    Motion.TRACK_PLAYER,
-                    ArmFiringPattern.SIMULTANEOUS,
-                    CoreFiringPattern.SIMPLE,
-                    1
-            )
-    };
-    private static final Behavior[] PHASE_2_BEHAVIORS = {
-            new Behavior(
-                    Motion.STRAFE,
-                    ArmFiringPattern.ALTERNATING,
-                    CoreFiringPattern.AIMED,
-                    1.2f
-            ),
-            new Behavior(
-                    Motion.CENTER,
-                    ArmFiringPattern.SIMULTANEOUS,
-                    CoreFiringPattern.SPRAY,
-                    1.2f
-            ),
-            new Behavior(
-                    Motion.TRACK_PLAYER,
-                    ArmFiringPattern.SIMULTANEOUS,
-                    CoreFiringPattern.RAPID,
-                    1.2f
-            )
-    };
-    private static final Behavior[] PHASE_3_BEHAVIORS = {
-            new Behavior(
-                    Motion.TRACK_PLAYER,
-                    ArmFiringPattern.NONE,
-                    CoreFiringPattern.RAPID,
-                    1.8f
-            ),
-            new Behavior(
-                    Motion.CENTER,
-                    ArmFiringPattern.NONE,
-                    CoreFiringPattern.SPRAY,
-                    1.8f
-            )
+    //Current phase and behavior (state) of the script, and when they were entered.
+    private int phase;
+    private int state;
+    private double phaseTime;
+    private double stateTime;
+    private boolean dead;
+
+    private double coreFireTime;
+    private double armFireTime;
+
+    //Moves on to the next behavior of the phase once the current one's duration is up.
+    private final TimerWheel.Timer behaviorTimer = new TimerWheel.Timer() {
+        @Override
+        protected void run() {
+            if (dead) return;
+            enterState(script.getNextState(state));
+        }
     };
 
-    public Boss(float x, float y, Viewport viewport, PlayerShip player) {
+    public Boss(float x, float y, Viewport viewport, PlayerShip player, BossScript script) {
         super(x, y);
         this.viewport = viewport;
         this.player = player;
-        behaviorDuration = GameplayConstants.BOSS_BEHAVIOR_DURATION;
-        init();
+        this.script = script;
         setType(EntityType.BOSS);
     }
 
@@ -113,38 +76,33 @@ public class Boss extends AbstractEntity {
     }
 
     @Override
-    public void render(Batch batch) {
-        super.render(batch);
-        turret.render(batch);
+    public void render(RenderQueue queue) {
+        super.render(queue);
+        turret.render(queue);
         if (leftArm.active) {
-            leftArm.turret.render(batch);
+            leftArm.turret.render(queue);
         }
         if (rightArm.active) {
-            rightArm.turret.render(batch);
+            rightArm.turret.render(queue);
         }
     }
 
     @Override
     public void update(float delta) {
-        if (phase == Phase.DEAD) return;
+        if (dead) return;
         super.update(delta);
         turret.setPosition(getX(), getY());
         core.update(delta);
         leftArm.update(delta);
         rightArm.update(delta);
         updatePhase();
-        if (phase == Phase.ENTRANCE) return;
-        if (Utilities.secondsSince(behaviorTime) > behaviorDuration) {
-            behaviorIndex++;
-            updateBehavior(behaviorIndex);
-        }
     }
 
     @Override
     public void updateHeading(float delta) {
-        if (phase == Phase.DEAD) return;
+        if (dead) return;
         float moveDistance = getSpeed() * delta;
-        switch (behavior.motion) {
+        switch (script.getMotion(state)) {
             case DESCEND:
                 heading.set(GameplayConstants.SOUTH);
                 break;
@@ -180,122 +138,115 @@ public class Boss extends AbstractEntity {
     }
 
     /**
-     * Updates the current phase of the boss based on certain conditions for each phase.
+     * Moves the boss to another phase if one of the current phase's transition conditions is met.
      */
     public void updatePhase() {
-        switch (phase) {
-            case ENTRANCE:
-                if (position.y < viewport.getWorldHeight() - getHeight() / 2 - GameplayConstants.BOSS_TOP_SCREEN_OFFSET) {
-                    phase = Phase.PHASE_1;
-                    updateBehavior(0);
-                }
-            case PHASE_1:
-                if (rightArm.health + leftArm.health < GameplayConstants.BOSS_ARM_STARTING_HEALTH) {
-                    phase = Phase.PHASE_2;
-                    updateBehavior(0);
-                    behaviorIndex = 0;
-                    behavior = PHASE_2_BEHAVIORS[behaviorIndex];
-                }
-                break;
-            case PHASE_2:
-                if (!rightArm.active && !leftArm.active) {
-                    phase = Phase.PHASE_3;
-                    behaviorIndex = 0;
-                    behavior = PHASE_3_BEHAVIORS[behaviorIndex];
-                }
-                break;
-            case DEAD: default:
-                break;
+        for (int t = script.getFirstTransition(phase), end = script.getEndTransition(phase); t < end; t++) {
+            if (isConditionMet(script.getCondition(t), script.getConditionValue(t))) {
+                enterPhase(script.getTargetPhase(t));
+                return;
+            }
         }
     }
 
-    /**
-     * Updates the behavior of the boss to the behavior at a certain index of the behavior array
-     * for the current phase.
-     * @param  index  Index of current phase behavior array to which behavior will be set.
-     */
-    public void updateBehavior(int index) {
-        Behavior[] behaviors;
-        switch (phase) {
-            case ENTRANCE:
-                return;
-            case PHASE_1:
-                behaviors = PHASE_1_BEHAVIORS;
-                break;
-            case PHASE_2:
-                behaviors = PHASE_2_BEHAVIORS;
-                break;
-            case PHASE_3:
-                behaviors = PHASE_3_BEHAVIORS;
-                break;
+    private boolean isConditionMet(BossScript.Condition condition, float value) {
+        switch (condition) {
+            case REACHED_TOP:
+                return position.y < viewport.getWorldHeight() - getHeight() / 2 - GameplayConstants.BOSS_TOP_SCREEN_OFFSET;
+            case ARM_HEALTH_BELOW:
+                return rightArm.health + leftArm.health < value;
+            case ARMS_DESTROYED:
+                return !rightArm.active && !leftArm.active;
+            case CORE_HEALTH_BELOW:
+                return core.health < value;
+            case PHASE_TIME_ABOVE:
+                return clock.secondsSince(phaseTime) > value;
             default:
-                Gdx.app.log(LOG_TAG, "No valid phase value for boss.");
-                return;
+                return false;
         }
-        if (index >= behaviors.length) index = 0;
-        behaviorIndex = index;
-        behavior = behaviors[behaviorIndex];
-        behaviorTime = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Starts a phase of the script from its first behavior.
+     * @param  index  Index of the phase in the script.
+     */
+    private void enterPhase(int index) {
+        phase = index;
+        phaseTime = clock.now();
+        enterState(script.getFirstState(index));
+        Gdx.app.log(LOG_TAG, "Boss entered phase " + script.getPhaseName(index) + ".");
+    }
+
+    /**
+     * Starts a behavior and schedules the change to the next one.
+     * @param  index  State of the behavior in the script.
+     */
+    private void enterState(int index) {
+        state = index;
+        stateTime = clock.now();
+        clock.schedule(behaviorTimer, script.getDuration(index));
+    }
+
+    @Override
+    protected void addComponents(Entity entity) {
+        super.addComponents(entity);
+        entity.add(new ShooterComponent());
     }
 
     @Override
-    public Array<Laser> getLasers() {
-        Array<Laser> lasers = new Array<Laser>();
-        if (Utilities.secondsSince(armFireTime) > GameplayConstants.BOSS_ARM_FIRE_DELAY && behavior.armFiringPattern != ArmFiringPattern.NONE) {
-            switch (behavior.armFiringPattern) {
+    public void emitProjectiles(ProjectileSink sink) {
+        ArmFiringPattern armFiringPattern = script.getArmFiringPattern(state);
+        if (clock.secondsSince(armFireTime) > GameplayConstants.BOSS_ARM_FIRE_DELAY && armFiringPattern != ArmFiringPattern.NONE) {
+            switch (armFiringPattern) {
                 case ALTERNATING:
-                    BossArm arm = (Utilities.secondsSince(behaviorTime) % (GameplayConstants.BOSS_ARM_FIRE_DELAY * 2) < GameplayConstants.BOSS_ARM_FIRE_DELAY) ?
+                    BossArm arm = (clock.secondsSince(stateTime) % (GameplayConstants.BOSS_ARM_FIRE_DELAY * 2) < GameplayConstants.BOSS_ARM_FIRE_DELAY) ?
                             rightArm : leftArm;
                     if (arm.active) {
-                        lasers.add(new Laser(arm.turret.getX(), arm.turret.getY(), GameplayConstants.SOUTH, false));
-                        arm.turret.fireTime = TimeUtils.nanoTime();
+                        fireLaser(sink, arm.turret.getX(), arm.turret.getY(), GameplayConstants.SOUTH);
+                        arm.turret.fireTime = clock.now();
                     }
                     break;
                 case SIMULTANEOUS:
                     if (rightArm.active) {
-                        lasers.add(new Laser(rightArm.getX(), leftArm.getY(), GameplayConstants.SOUTH, false));
-                        rightArm.turret.fireTime = TimeUtils.nanoTime();
+                        fireLaser(sink, rightArm.getX(), leftArm.getY(), GameplayConstants.SOUTH);
+                        rightArm.turret.fireTime = clock.now();
                     }
                     if (leftArm.active) {
-                        lasers.add(new Laser(leftArm.getX(), leftArm.getY(), GameplayConstants.SOUTH, false));
-                        leftArm.turret.fireTime = TimeUtils.nanoTime();
+                        fireLaser(sink, leftArm.getX(), leftArm.getY(), GameplayConstants.SOUTH);
+                        leftArm.turret.fireTime = clock.now();
                     }
 
                     break;
             }
-            armFireTime = TimeUtils.nanoTime();
+            armFireTime = clock.now();
         }
-        float secSinceCoreFire = Utilities.secondsSince(coreFireTime);
+        float secSinceCoreFire = clock.secondsSince(coreFireTime);
+        float fireDelay = script.getCoreFireDelay(state);
         boolean coreFire = false;
-        switch (behavior.coreFiringPattern) {
+        switch (script.getCoreFiringPattern(state)) {
             case NONE: default:
                 break;
             case SIMPLE:
-                if (secSinceCoreFire < GameplayConstants.BOSS_CORE_FIRE_DELAY_SIMPLE) break;
-                lasers.add(new Laser(
-                        core.getX(),
-                        core.getY(),
-                        GameplayConstants.SOUTH,
-                        false
-                ));
+                if (secSinceCoreFire < fireDelay) break;
+                fireLaser(sink, core.getX(), core.getY(), GameplayConstants.SOUTH);
                 coreFire = true;
                 break;
             case AIMED:
-                if (secSinceCoreFire < GameplayConstants.BOSS_CORE_FIRE_DELAY_AIMED) break;
-                lasers.add(new Laser(
+                if (secSinceCoreFire < fireDelay) break;
+                sink.fireLaser(
                         core.getX(),
                         core.getY(),
-                        (new Vector2(player.position)).sub(core.getX(), core.getY()),
+                        player.getX() - core.getX(),
+                        player.getY() - core.getY(),
                         false,
                         Laser.LaserType.POINTY
-                ));
+                );
                 coreFire = true;
                 break;
             case SPRAY:
-                float fireDelay = (phase == Phase.PHASE_3) ? GameplayConstants.BOSS_CORE_FIRE_DELAY_SPRAY_FAST : GameplayConstants.BOSS_CORE_FIRE_DELAY_SPRAY;
                 if (secSinceCoreFire < fireDelay) break;
                 Vector2 direction;
-                int sprayShotCount = (int) ((Utilities.secondsSince(behaviorTime) % (fireDelay * 4)) / fireDelay);
+                int sprayShotCount = (int) ((clock.secondsSince(stateTime) % (fireDelay * 4)) / fireDelay);
                 switch (sprayShotCount) {
                     case 0: case 2: default:
                         direction = GameplayConstants.SOUTH;
@@ -307,24 +258,34 @@ public class Boss extends AbstractEntity {
                         direction = GameplayConstants.SOUTHWEST;
                         break;
                 }
-                lasers.add(new Laser(core.getX(), core.getY(), direction, false));
+                fireLaser(sink, core.getX(), core.getY(), direction);
                 coreFire = true;
                 break;
             case RAPID:
-                if (secSinceCoreFire < GameplayConstants.BOSS_CORE_FIRE_DELAY_RAPID) break;
-                int rapidShotCount = (int) ((Utilities.secondsSince(behaviorTime) %
-                        (GameplayConstants.BOSS_CORE_FIRE_DELAY_RAPID * GameplayConstants.BOSS_CORE_RAPID_FIRE_PERIOD)) / GameplayConstants.BOSS_CORE_FIRE_DELAY_RAPID);
+                if (secSinceCoreFire < fireDelay) break;
+                int rapidShotCount = (int) ((clock.secondsSince(stateTime) %
+                        (fireDelay * GameplayConstants.BOSS_CORE_RAPID_FIRE_PERIOD)) / fireDelay);
                 if (rapidShotCount < GameplayConstants.BOSS_CORE_RAPID_FIRE_BURST_SIZE) {
-                    lasers.add(new Laser(core.getX(), core.getY(), GameplayConstants.SOUTH, false));
+                    fireLaser(sink, core.getX(), core.getY(), GameplayConstants.SOUTH);
                 }
                 coreFire = true;
                 break;
         }
         if (coreFire) {
-            coreFireTime = TimeUtils.nanoTime();
+            coreFireTime = clock.now();
             core.turret.fireTime = coreFireTime;
         }
-        return lasers;
+    }
+
+    /**
+     * Fires a standard red laser.
+     * @param  sink  ProjectileSink that receives the laser.
+     * @param  x  Starting x-coordinate.
+     * @param  y  Starting y-coordinate.
+     * @param  direction  Direction of travel.
+     */
+    private void fireLaser(ProjectileSink sink, float x, float y, Vector2 direction) {
+        sink.fireLaser(x, y, direction.x, direction.y, false, Laser.LaserType.RED);
     }
 
     /**
@@ -335,8 +296,8 @@ public class Boss extends AbstractEntity {
      * @return  true if a piece was destroyed, false otherwise.
      */
     public boolean takeDamage(float x, float y) {
-        //Boss is invulnerable as it descends.
-        if (phase == Phase.ENTRANCE) return false;
+        //e.g. as the boss descends.
+        if (script.isInvulnerable(phase)) return false;
         if (rightArm.hit(x, y)) {
             rightArm.takeDamage();
             return !rightArm.active;
@@ -346,7 +307,8 @@ public class Boss extends AbstractEntity {
         } else if (core.hit(x, y) && !rightArm.active && !leftArm.active) {
             core.takeDamage();
             if (core.health <= 0) {
-                phase = Phase.DEAD;
+                dead = true;
+                behaviorTimer.cancel();
                 return true;
             }
         }
@@ -354,7 +316,7 @@ public class Boss extends AbstractEntity {
     }
 
     /**
-     * Initializes the core, arms, and behavior settings of the boss.
+     * Initializes the core, arms, and behavior settings of the boss, starting its script over.
      */
     public void init() {
         core = initCore();
@@ -362,15 +324,10 @@ public class Boss extends AbstractEntity {
         rightArm = initArm(true);
         leftArm = initArm(false);
         turret = new BossTurret();
-        phase = Phase.ENTRANCE;
-        behavior = new Behavior(
-                Motion.DESCEND,
-                ArmFiringPattern.NONE,
-                CoreFiringPattern.NONE,
-                0.75f
-        );
-        coreFireTime = TimeUtils.nanoTime();
-        armFireTime = TimeUtils.nanoTime();
+        dead = false;
+        enterPhase(0);
+        coreFireTime = clock.now();
+        armFireTime = clock.now();
     }
 
     /**
@@ -397,9 +354,17 @@ public class Boss extends AbstractEntity {
                 rightArm.hit(x, y);
     }
 
+    /**
+     * Whether the boss' core has been destroyed.
+     * @return  true once the boss is dead.
+     */
+    public boolean isDead() {
+        return dead;
+    }
+
     @Override
     public float getSpeed() {
-        return GameplayConstants.BOSS_SPEED * behavior.speedMultiplier;
+        return script.speed * script.getSpeedMultiplier(state);
     }
 
     @Override
@@ -420,7 +385,7 @@ public class Boss extends AbstractEntity {
         } else {
             anim = Assets.instance.bossAssets.bossDamagedAnimation;
         }
-        return anim.getKeyFrame(Utilities.secondsSince(spawnTime));
+        return anim.getKeyFrame(secondsSinceSpawn());
     }
 
     @Override
@@ -441,8 +406,9 @@ public class Boss extends AbstractEntity {
 
         public BossCore() {
             super(Boss.this.getX(), Boss.this.getY());
+            setType(EntityType.BOSS);
             turret = new BossTurret();
-            health = GameplayConstants.BOSS_CORE_STARTING_HEALTH;
+            health = script.coreHealth;
         }
 
         @Override
@@ -486,8 +452,9 @@ public class Boss extends AbstractEntity {
 
         public BossArm(boolean isRight) {
             super();
+            setType(EntityType.BOSS);
             this.isRight = isRight;
-            this.health = GameplayConstants.BOSS_ARM_STARTING_HEALTH;
+            this.health = script.armHealth;
             active = true;
             position = new Vector2();
             turret = new BossTurret();
@@ -534,11 +501,12 @@ public class Boss extends AbstractEntity {
      */
     private class BossTurret extends AbstractEntity {
 
-        long fireTime;
+        double fireTime;
 
         public BossTurret() {
             super();
-            fireTime = TimeUtils.nanoTime() - 1000;
+            setType(EntityType.BOSS);
+            fireTime = Boss.this.clock.now();
         }
 
         @Override
@@ -552,30 +520,11 @@ public class Boss extends AbstractEntity {
 
         @Override
         public TextureRegion getTextureRegion() {
-            return (Utilities.secondsSince(fireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
+            return (Boss.this.clock.secondsSince(fireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
                 Assets.instance.bossAssets.turretFiring : Assets.instance.bossAssets.turretNeutral;
         }
     }
 
-    /**
-     * Defines boss behavior including motion, speed, and firing pattern for arms and core.  This is
-     * purely a data class and has no methods.
-     */
-    private static class Behavior {
-
-        Motion motion;
-        ArmFiringPattern armFiringPattern;
-        CoreFiringPattern coreFiringPattern;
-        float speedMultiplier;
-
-        public Behavior(Motion motion, ArmFiringPattern armFiringPattern, CoreFiringPattern coreFiringPattern, float speedMultiplier) {
-            this.motion = motion;
-            this.armFiringPattern = armFiringPattern;
-            this.coreFiringPattern = coreFiringPattern;
-            this.speedMultiplier = speedMultiplier;
-        }
-    }
-
     public enum Motion {
         DESCEND,
         STRAFE,
@@ -597,11 +546,4 @@ public class Boss extends AbstractEntity {
         NONE
     }
 
-    public enum Phase {
-        ENTRANCE,
-        PHASE_1,
-        PHASE_2,
-        PHASE_3,
-        DEAD
-    }
 }
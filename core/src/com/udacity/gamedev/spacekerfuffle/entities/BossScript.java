@@ -0,0 +1,264 @@
+package com.udacity.gamedev.spacekerfuffle.entities;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+
+/**
+ * Immutable boss behavior, compiled from a JSON script into flat arrays so that a Boss runs it
+ * each frame with array lookups only.  A script is a list of phases; each phase cycles through
+ * its behaviors, and moves on to another phase when one of its transitions' conditions is met.
+ * The first phase is entered when the boss spawns.  The boss dies when its core health runs out,
+ * whatever phase it's in.
+ *
+ * Script format, with defaults for optional values in brackets:
+ *
+ *   {
+ *     "speed": 40, "arm-health": 50, "core-health": 50,          [GameplayConstants BOSS_*]
+ *     "phases": [
+ *       {
+ *         "name": "entrance",
+ *         "invulnerable": true,                                    [false]
+ *         "behaviors": [
+ *           { "motion": "descend", "arms": "none", "core": "none", [arms, core: none]
+ *             "speed": 0.75, "duration": 10, "core-fire-delay": 1 } [1, BOSS_BEHAVIOR_DURATION,
+ *         ],                                                         delay of the core pattern]
+ *         "transitions": [ { "when": "reached-top", "to": "phase-1" } ]
+ *       }, ...
+ *     ]
+ *   }
+ *
+ * Names are those of Boss.Motion, Boss.ArmFiringPattern, Boss.CoreFiringPattern and Condition,
+ * in lower case with hyphens.  Scripts are loaded once and shared by every boss that uses them.
+ */
+public class BossScript {
+
+    public static final String LOG_TAG = BossScript.class.getName();
+
+    private static final ObjectMap<String, BossScript> LOADED = new ObjectMap<String, BossScript>();
+
+    public final float speed;
+    public final int armHealth;
+    public final int coreHealth;
+
+    //Per phase.  A phase's behaviors are the states firstState[phase] to firstState[phase + 1] - 1
+    //and its transitions likewise run from firstTransition[phase].
+    private final String[] phaseNames;
+    private final boolean[] invulnerable;
+    private final int[] firstState;
+    private final int[] firstTransition;
+
+    //Per state, i.e. per behavior of every phase in order.
+    private final Boss.Motion[] motions;
+    private final Boss.ArmFiringPattern[] armFiringPatterns;
+    private final Boss.CoreFiringPattern[] coreFiringPatterns;
+    private final float[] speedMultipliers;
+    private final float[] durations;
+    private final float[] coreFireDelays;
+    private final int[] nextStates;
+
+    //Per transition.
+    private final Condition[] conditions;
+    private final float[] conditionValues;
+    private final int[] targetPhases;
+
+    private BossScript(JsonValue root, String source) {
+        speed = root.getFloat("speed", GameplayConstants.BOSS_SPEED);
+        armHealth = root.getInt("arm-health", GameplayConstants.BOSS_ARM_STARTING_HEALTH);
+        coreHealth = root.getInt("core-health", GameplayConstants.BOSS_CORE_STARTING_HEALTH);
+
+        JsonValue phases = root.get("phases");
+        if (phases == null || phases.size == 0) {
+            throw new GdxRuntimeException("Boss script " + source + " has no phases.");
+        }
+        int phaseCount = phases.size;
+        int stateCount = 0;
+        int transitionCount = 0;
+        for (JsonValue phase = phases.child; phase != null; phase = phase.next) {
+            JsonValue behaviors = phase.get("behaviors");
+            if (behaviors == null || behaviors.size == 0) {
+                throw new GdxRuntimeException("Boss phase \"" + phase.getString("name", "") + "\" in "
+                        + source + " has no behaviors.");
+            }
+            stateCount += behaviors.size;
+            JsonValue transitions = phase.get("transitions");
+            if (transitions != null) transitionCount += transitions.size;
+        }
+
+        phaseNames = new String[phaseCount];
+        invulnerable = new boolean[phaseCount];
+        firstState = new int[phaseCount + 1];
+        firstTransition = new int[phaseCount + 1];
+        motions = new Boss.Motion[stateCount];
+        armFiringPatterns = new Boss.ArmFiringPattern[stateCount];
+        coreFiringPatterns = new Boss.CoreFiringPattern[stateCount];
+        speedMultipliers = new float[stateCount];
+        durations = new float[stateCount];
+        coreFireDelays = new float[stateCount];
+        nextStates = new int[stateCount];
+        conditions = new Condition[transitionCount];
+        conditionValues = new float[transitionCount];
+        targetPhases = new int[transitionCount];
+
+        int p = 0;
+        int s = 0;
+        int t = 0;
+        for (JsonValue phase = phases.child; phase != null; phase = phase.next, p++) {
+            phaseNames[p] = phase.getString("name", "phase-" + p);
+            invulnerable[p] = phase.getBoolean("invulnerable", false);
+            firstState[p] = s;
+            for (JsonValue behavior = phase.get("behaviors").child; behavior != null; behavior = behavior.next, s++) {
+                motions[s] = valueOf(Boss.Motion.class, behavior.getString("motion"), source);
+                armFiringPatterns[s] = valueOf(Boss.ArmFiringPattern.class, behavior.getString("arms", "none"), source);
+                coreFiringPatterns[s] = valueOf(Boss.CoreFiringPattern.class, behavior.getString("core", "none"), source);
+                speedMultipliers[s] = behavior.getFloat("speed", 1);
+                durations[s] = behavior.getFloat("duration", GameplayConstants.BOSS_BEHAVIOR_DURATION);
+                coreFireDelays[s] = behavior.getFloat("core-fire-delay", getDefaultFireDelay(coreFiringPatterns[s]));
+                nextStates[s] = s + 1;
+            }
+            //Behaviors cycle within their phase.
+            nextStates[s - 1] = firstState[p];
+            firstTransition[p] = t;
+            JsonValue transitions = phase.get("transitions");
+            if (transitions == null) continue;
+            for (JsonValue transition = transitions.child; transition != null; transition = transition.next, t++) {
+                conditions[t] = valueOf(Condition.class, transition.getString("when"), source);
+                conditionValues[t] = transition.getFloat("value", 0);
+            }
+        }
+        firstState[phaseCount] = s;
+        firstTransition[phaseCount] = t;
+
+        //Targets are resolved once every phase has a name, so that transitions can point forwards.
+        t = 0;
+        for (JsonValue phase = phases.child; phase != null; phase = phase.next) {
+            JsonValue transitions = phase.get("transitions");
+            if (transitions == null) continue;
+            for (JsonValue transition = transitions.child; transition != null; transition = transition.next, t++) {
+                targetPhases[t] = indexOfPhase(transition.getString("to"), source);
+            }
+        }
+    }
+
+    /**
+     * Gets a shared script, loading it on first use.  Safe to call while levels are loaded on
+     * another thread.
+     * @param  path  Internal path of the script.
+     * @return  Shared BossScript.
+     * @throws  GdxRuntimeException  If the script is malformed.
+     */
+    public static synchronized BossScript get(String path) {
+        BossScript script = LOADED.get(path);
+        if (script == null) {
+            script = load(Gdx.files.internal(path));
+            LOADED.put(path, script);
+            Gdx.app.log(LOG_TAG, "Loaded boss script " + path + ".");
+        }
+        return script;
+    }
+
+    /**
+     * Compiles a script file.  Unlike get(), the result isn't kept.
+     * @param  file  Boss script JSON.
+     * @return  New BossScript.
+     * @throws  GdxRuntimeException  If the script is malformed.
+     */
+    public static BossScript load(FileHandle file) {
+        return new BossScript(new JsonReader().parse(file), file.path());
+    }
+
+    public int getPhaseCount() { return phaseNames.length; }
+
+    public String getPhaseName(int phase) { return phaseNames[phase]; }
+
+    public boolean isInvulnerable(int phase) { return invulnerable[phase]; }
+
+    /**
+     * @param  phase  Phase index.
+     * @return  State of the phase's first behavior.
+     */
+    public int getFirstState(int phase) { return firstState[phase]; }
+
+    public int getFirstTransition(int phase) { return firstTransition[phase]; }
+
+    /**
+     * @param  phase  Phase index.
+     * @return  One past the phase's last transition.
+     */
+    public int getEndTransition(int phase) { return firstTransition[phase + 1]; }
+
+    public Boss.Motion getMotion(int state) { return motions[state]; }
+
+    public Boss.ArmFiringPattern getArmFiringPattern(int state) { return armFiringPatterns[state]; }
+
+    public Boss.CoreFiringPattern getCoreFiringPattern(int state) { return coreFiringPatterns[state]; }
+
+    public float getSpeedMultiplier(int state) { return speedMultipliers[state]; }
+
+    public float getDuration(int state) { return durations[state]; }
+
+    public float getCoreFireDelay(int state) { return coreFireDelays[state]; }
+
+    /**
+     * @param  state  Current state.
+     * @return  State that follows it once its duration is up.
+     */
+    public int getNextState(int state) { return nextStates[state]; }
+
+    public Condition getCondition(int transition) { return conditions[transition]; }
+
+    public float getConditionValue(int transition) { return conditionValues[transition]; }
+
+    public int getTargetPhase(int transition) { return targetPhases[transition]; }
+
+    private int indexOfPhase(String name, String source) {
+        for (int i = 0; i < phaseNames.length; i++) {
+            if (phaseNames[i].equals(name)) return i;
+        }
+        throw new GdxRuntimeException("Unknown boss phase \"" + name + "\" in " + source + ".");
+    }
+
+    private static float getDefaultFireDelay(Boss.CoreFiringPattern pattern) {
+        switch (pattern) {
+            case SPRAY:
+                return GameplayConstants.BOSS_CORE_FIRE_DELAY_SPRAY;
+            case AIMED:
+                return GameplayConstants.BOSS_CORE_FIRE_DELAY_AIMED;
+            case RAPID:
+                return GameplayConstants.BOSS_CORE_FIRE_DELAY_RAPID;
+            case SIMPLE: case NONE: default:
+                return GameplayConstants.BOSS_CORE_FIRE_DELAY_SIMPLE;
+        }
+    }
+
+    private static <T extends Enum<T>> T valueOf(Class<T> type, String name, String source) {
+        if (name == null) {
+            throw new GdxRuntimeException("Missing " + type.getSimpleName() + " in " + source + ".");
+        }
+        try {
+            return Enum.valueOf(type, name.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new GdxRuntimeException("Unknown " + type.getSimpleName() + " \"" + name + "\" in " + source + ".");
+        }
+    }
+
+    /**
+     * Conditions that move the boss from one phase to another.
+     */
+    public enum Condition {
+        //The boss has descended to its place at the top of the screen.
+        REACHED_TOP,
+        //The arms' remaining health, added together, is below value.
+        ARM_HEALTH_BELOW,
+        //Both arms are destroyed.
+        ARMS_DESTROYED,
+        //The core's remaining health is below value.
+        CORE_HEALTH_BELOW,
+        //The boss has been in the phase for more than value seconds.
+        PHASE_TIME_ABOVE
+    }
+}
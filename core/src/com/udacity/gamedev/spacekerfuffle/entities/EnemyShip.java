@@ -1,30 +1,45 @@
 package com.udacity.gamedev.spacekerfuffle.entities;
 
-import com.badlogic.gdx.Gdx;
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.udacity.gamedev.spacekerfuffle.entities.components.EnemyComponent;
 import com.udacity.gamedev.spacekerfuffle.util.Assets;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
-import com.udacity.gamedev.spacekerfuffle.util.Utilities;
-
-import java.util.ArrayList;
-import java.util.Arrays;
+import com.udacity.gamedev.spacekerfuffle.util.TimerWheel;
 
 /**
  * Class representing enemies.
  */
 public class EnemyShip extends AbstractEntity {
 
-    private MovementPattern movePattern;
+    public static final String LOG_TAG = EnemyShip.class.getName();
+
+    //Shared table the enemy's position is read from, relative to where it spawned.
+    private MovementTable movement;
+    private float originX;
+    private float originY;
     private Motion motion;
     private FiringPattern firingPattern;
     private float speed;
     private float fireDelay;
-    private long fireTime;
+    private double fireTime;
     private int fireCount;
+    private PlayerShip target;
+    private ProjectileSink sink;
+    //Created once, since enemies are pooled.
+    private final FireTimer fireTimer = new FireTimer();
+
+    /**
+     * Enemies in the level are pooled, so instances should be obtained from EntityPools and set up
+     * from an EnemySpawn with set() rather than constructed directly.
+     */
+    public EnemyShip() {
+        super();
+        setType(EntityType.ENEMY_SHIP);
+    }
 
     public EnemyShip(float x, float y,
                      MovementPatterns movePattern,
@@ -37,58 +52,45 @@ public class EnemyShip extends AbstractEntity {
         setType(EntityType.ENEMY_SHIP);
     }
 
+    /**
+     * Sets up an enemy obtained from the pool as described by a spawn record.
+     * @param  spawn  Position and behavior of the enemy.
+     * @return  This enemy, for chaining.
+     */
+    public EnemyShip set(EnemySpawn spawn) {
+        setPosition(spawn.x, spawn.y);
+        init(spawn.movement, spawn.speed, spawn.firingPattern, spawn.fireRate);
+        return this;
+    }
+
     @Override
-    public void update(float delta) {
-        movePattern.update();
-        super.update(delta);
+    public void reset() {
+        super.reset();
+        fireTimer.cancel();
+        target = null;
+        sink = null;
+        fireTime = 0;
+        fireCount = 0;
     }
 
+    /**
+     * Moves the enemy to where its movement table puts it at the current time.  Positions don't
+     * depend on previous frames, so no heading is kept.
+     * @param  delta  Seconds since last frame as float.  Unused.
+     */
     @Override
-    public void updateHeading(float delta) {
-        switch (motion) {
-            case NORTH:
-                heading.set(GameplayConstants.NORTH);
-                break;
-            case EAST:
-                heading.set(GameplayConstants.EAST);
-                break;
-            case SOUTH:
-                heading.set(GameplayConstants.SOUTH);
-                break;
-            case WEST:
-                heading.set(GameplayConstants.WEST);
-                break;
-            case NORTHEAST:
-                heading.set(GameplayConstants.NORTHEAST);
-                break;
-            case NORTHWEST:
-                heading.set(GameplayConstants.NORTHWEST);
-                break;
-            case SOUTHEAST:
-                heading.set(GameplayConstants.SOUTHEAST);
-                break;
-            case SOUTHWEST:
-                heading.set(GameplayConstants.SOUTHWEST);
-                break;
-            case STILL:
-                heading.set(Vector2.Zero);
-                break;
-            default:
-                heading.set(GameplayConstants.SOUTH);
-                break;
-        }
-        super.updateHeading(delta);
+    public void update(float delta) {
+        float seconds = secondsSinceSpawn();
+        motion = movement.getMotion(seconds);
+        movement.getPosition(seconds, speed, originX, originY, position);
     }
 
     /**
-     * Test whether the enemy is ready to fire based on firing pattern.
-     * @return  true if enemy should fire this frame, false otherwise.
+     * Takes the enemy's next shot, which the firing pattern may skip.
+     * @return  true if enemy should fire this shot, false otherwise.
      */
-    public boolean fire() {
-        if (Utilities.secondsSince(fireTime) < fireDelay) {
-            return false;
-        }
-        fireTime = TimeUtils.nanoTime();
+    private boolean fire() {
+        fireTime = clock.now();
         fireCount++;
         switch (firingPattern) {
             case SIMPLE:
@@ -103,16 +105,36 @@ public class EnemyShip extends AbstractEntity {
         return true;
     }
 
+    @Override
+    protected void addComponents(Entity entity) {
+        super.addComponents(entity);
+        entity.add(new EnemyComponent(this));
+    }
+
+    /**
+     * Sets the player that aimed lasers are directed at.  Must be set before the enemy fires.
+     * @param  target  Player object.
+     */
+    public void setTarget(PlayerShip target) {
+        this.target = target;
+    }
+
     /**
-     * Get an array of lasers fired by the enemy this frame.
-     * @param player  Player object, so that lasers can be directed at it.
-     * @return  Array of lasers to be fired this frame.
+     * Sets where the enemy's lasers go.  Enemies only fire once this is set before init(), after
+     * which they fire on their own timer on the level clock rather than being polled each frame.
+     * @param  sink  ProjectileSink that receives the lasers.
      */
-    public Array<Laser> getLasers(PlayerShip player) {
-        Array<Laser> lasers = new Array<Laser>();
-        if (!fire()) return lasers;
-        Vector2 direction = new Vector2();
-        Laser.LaserType type = Laser.LaserType.RED;
+    public void setProjectileSink(ProjectileSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Fires the enemy's lasers for a shot into the sink.  Aimed lasers are directed at the target
+     * set with setTarget().
+     */
+    private void fireLasers() {
+        float muzzleY = getY() - getHeight() / 2;
+        Vector2 direction;
         switch (firingPattern) {
             case SIMPLE: case BURST: default:
                 //Fires a laser straight down.
@@ -121,15 +143,12 @@ public class EnemyShip extends AbstractEntity {
             case SPRAY:
                 //Fires lasers center right center left etc.
                 switch (fireCount % 4) {
-                    case 0:
+                    case 0: case 2: default:
                         direction = GameplayConstants.SOUTH;
                         break;
                     case 1:
                         direction = GameplayConstants.SOUTHEAST;
                         break;
-                    case 2:
-                        direction = GameplayConstants.SOUTH;
-                        break;
                     case 3:
                         direction = GameplayConstants.SOUTHWEST;
                         break;
@@ -137,23 +156,17 @@ public class EnemyShip extends AbstractEntity {
                 break;
             case AIMED:
                 //Fires a laser towards the player's current position.
-                direction = new Vector2(
-                        player.getX() - getX(),
-                        player.getY() - (getY() - getHeight() / 2)
+                sink.fireLaser(
+                        getX(),
+                        muzzleY,
+                        target.getX() - getX(),
+                        target.getY() - muzzleY,
+                        false,
+                        Laser.LaserType.POINTY
                 );
-                type = Laser.LaserType.POINTY;
-                break;
+                return;
         }
-        lasers.add(new Laser(
-                getX(),
-                getY() - getHeight() / 2,
-                direction,
-                false,
-                type
-        ));
-        //Currently returns a single element array to allow for further implementation where
-        //enemies fire multiple lasers simultaneously.
-        return lasers;
+        sink.fireLaser(getX(), muzzleY, direction.x, direction.y, false, Laser.LaserType.RED);
     }
 
     @Override
@@ -170,12 +183,12 @@ public class EnemyShip extends AbstractEntity {
         Animation anim;
         switch (motion) {
             case EAST: case NORTHEAST: case SOUTHEAST: case WEST: case NORTHWEST: case SOUTHWEST:
-                anim = (Utilities.secondsSince(fireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
+                anim = (clock.secondsSince(fireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
                         Assets.instance.enemyShipAssets.enemyTurningFiring :
                         Assets.instance.enemyShipAssets.enemyTurning;
                 break;
             case NORTH: case SOUTH: case STILL:
-                anim = (Utilities.secondsSince(fireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
+                anim = (clock.secondsSince(fireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
                         Assets.instance.enemyShipAssets.enemyFiring :
                         Assets.instance.enemyShipAssets.enemyNeutral;
                 break;
@@ -183,7 +196,7 @@ public class EnemyShip extends AbstractEntity {
                 anim = Assets.instance.enemyShipAssets.enemyNeutral;
                 break;
         }
-        return anim.getKeyFrame(Utilities.secondsSince(spawnTime));
+        return anim.getKeyFrame(secondsSinceSpawn());
     }
 
     @Override
@@ -195,8 +208,8 @@ public class EnemyShip extends AbstractEntity {
     }
 
     /**
-     * Initializes enemy instance varaibles.  init() with no arguments should be called again as
-     * enemy is spawned.
+     * Initializes enemy instance varaibles.  init() with no arguments must be called as the enemy
+     * is spawned to start its timers.
      * @param  movePattern  Pattern from MovementPatterns enum
      * @param  duration  Duration from MovePhaseDurations enum
      * @param  speed  Speed from Speed enum
@@ -208,10 +221,20 @@ public class EnemyShip extends AbstractEntity {
                      Speed speed,
                      FiringPattern firePattern,
                      FireRate fireRate) {
-        super.init();
-        this.movePattern = new MovementPattern(movePattern, duration);
+        init(MovementTable.get(movePattern, duration), speed, firePattern, fireRate);
+    }
+
+    /**
+     * Same as above, but with any movement table, e.g. one described in the level data.
+     * @param  movement  Movement table to follow.
+     * @param  speed  Speed from Speed enum
+     * @param  firePattern  Pattern from FiringPattern enum
+     * @param  fireRate  Rate from FireRate enum
+     */
+    public void init(MovementTable movement, Speed speed, FiringPattern firePattern, FireRate fireRate) {
+        this.movement = movement;
         this.firingPattern = firePattern;
-        motion = this.movePattern.getCurrentMotion();
+        motion = movement.getMotion(0);
         switch (speed) {
             case SLOW:
                 this.speed = GameplayConstants.ENEMY_SPEED_SLOW;
@@ -240,152 +263,75 @@ public class EnemyShip extends AbstractEntity {
                 fireDelay = GameplayConstants.ENEMY_FIRE_DELAY_MEDIUM;
                 break;
         }
-        fireTime = TimeUtils.nanoTime();
         fireCount = 0;
-        this.movePattern.init();
     }
 
     @Override
     public void init() {
         super.init();
-        movePattern.init();
+        //Backdating the last shot lets enemies fire as soon as they appear.
+        fireTime = clock.now() - fireDelay;
+        originX = position.x;
+        originY = position.y;
+        if (sink != null) {
+            clock.schedule(fireTimer, 0);
+        }
     }
 
     /**
-     * Class defining various movement patterns enemies can execute.
+     * Checks the enemy's position at every phase change since spawn as well as now.  Paths are
+     * straight between phase changes and the screen is a rectangle, so the enemy has stayed on
+     * screen exactly when all of those positions are on screen.
+     * @param  viewport  viewport defining current screen area.
+     * @return  true if the enemy has left the screen, false otherwise.
      */
-    private class MovementPattern {
-
-        private ArrayList<Motion> motionSequence;
-        private int currentMotionIndex;
-        private float phaseDuration;
-        private long phaseTime;
-
-
-        public MovementPattern(MovementPatterns pattern, MovePhaseDuration duration) {
-            currentMotionIndex = 0;
-            initPattern(pattern, duration);
-        }
-
-        public void init() {
-            phaseTime = TimeUtils.nanoTime();
+    @Override
+    public boolean leftScreen(Viewport viewport) {
+        if (offScreen(viewport)) return true;
+        float phaseDuration = movement.getPhaseDuration();
+        if (phaseDuration == 0) return false;
+        float seconds = secondsSinceSpawn();
+        float currentX = position.x;
+        float currentY = position.y;
+        boolean left = false;
+        for (float phaseStart = phaseDuration; phaseStart < seconds && !left; phaseStart += phaseDuration) {
+            movement.getPosition(phaseStart, speed, originX, originY, position);
+            left = offScreen(viewport);
         }
+        position.set(currentX, currentY);
+        return left;
+    }
 
-        public void update() {
-            if (phaseDuration == 0) return;
-            if (Utilities.secondsSince(phaseTime) > phaseDuration) {
-                phaseTime = TimeUtils.nanoTime();
-                updatePhase();
-            }
+    /**
+     * Puts the enemy where its movement table has it after age seconds, with the shots it would
+     * have taken by then counted, so that firing patterns carry on in step.
+     * @param  age  Seconds since the enemy would have spawned.
+     */
+    @Override
+    public void init(float age) {
+        super.init(age);
+        //Shots are attempted at spawn and then every fireDelay seconds.
+        int attempts = (int) Math.ceil(age / fireDelay);
+        if (attempts > 0) {
+            fireCount = attempts;
+            fireTime = spawnTime + (attempts - 1) * fireDelay;
         }
-
-        public void updatePhase() {
-            currentMotionIndex = (currentMotionIndex + 1) % motionSequence.size();
-            motion = getCurrentMotion();
+        if (sink != null) {
+            clock.getTimers().schedule(fireTimer, fireTime + fireDelay);
         }
+        update(0);
+    }
 
-        public Motion getCurrentMotion() {
-            return motionSequence.get(currentMotionIndex);
-        }
+    /**
+     * Takes a shot every fireDelay seconds for as long as the enemy is in the level.
+     */
+    private class FireTimer extends TimerWheel.Timer {
 
-        public void initPattern(MovementPatterns pattern, MovePhaseDuration duration) {
-            //In an ideal world, these patterns could be described with more specificity in the
-            //level design JSON or similar and constructed here, but set patterns are hardcoded here
-            //for expedience.
-            motionSequence = new ArrayList<Motion>();
-            switch (duration) {
-                case SHORT:
-                    phaseDuration = GameplayConstants.ENEMY_PHASE_DURATION_SHORT;
-                    break;
-                case MEDIUM:
-                    phaseDuration = GameplayConstants.ENEMY_PHASE_DURATION_MEDIUM;
-                    break;
-                case LONG:
-                    phaseDuration = GameplayConstants.ENEMY_PHASE_DURATION_LONG;
-                    break;
-                default:
-                    phaseDuration = GameplayConstants.ENEMY_PHASE_DURATION_MEDIUM;
-            }
-            switch (pattern) {
-                case SIMPLE:
-                    //Enemy moves straight down.
-                    this.phaseDuration = 0;
-                    motionSequence.add(Motion.SOUTH);
-                    break;
-                case SIMPLE_PAUSE:
-                    //Enemy alternates moving and hovering.
-                    Gdx.app.debug(LOG_TAG, "Initializing enemy with SIMPLE_PAUSE motion");
-                    motionSequence.addAll(Arrays.asList(
-                            Motion.SOUTH,
-                            Motion.STILL
-                    ));
-                    break;
-                case SIMPLE_PAUSE_LONG:
-                    //Same as above, but hover is twice times as long as motion.
-                    motionSequence.addAll(Arrays.asList(
-                            Motion.SOUTH,
-                            Motion.STILL,
-                            Motion.STILL
-                    ));
-                    break;
-                case S_RIGHT:
-                    //Moves in a square s-curve starting going right (like a digital clock "2").
-                    motionSequence.addAll(Arrays.asList(
-                            Motion.SOUTH,
-                            Motion.EAST,
-                            Motion.SOUTH,
-                            Motion.WEST
-                    ));
-                    break;
-                case S_LEFT:
-                    //Same as above except starts going left (like a digital clock "5").
-                    motionSequence.addAll(Arrays.asList(
-                            Motion.SOUTH,
-                            Motion.WEST,
-                            Motion.SOUTH,
-                            Motion.EAST
-                    ));
-                    break;
-                case STRAFE_S_RIGHT:
-                    //Like S-curves except it spends more time going side to side before descending.
-                    motionSequence.addAll(Arrays.asList(
-                            Motion.SOUTH,
-                            Motion.EAST,
-                            Motion.WEST,
-                            Motion.EAST,
-                            Motion.SOUTH,
-                            Motion.WEST,
-                            Motion.EAST,
-                            Motion.WEST
-                    ));
-                    break;
-                case STRAFE_S_LEFT:
-                    motionSequence.addAll(Arrays.asList(
-                            Motion.SOUTH,
-                            Motion.WEST,
-                            Motion.EAST,
-                            Motion.WEST,
-                            Motion.SOUTH,
-                            Motion.EAST,
-                            Motion.WEST,
-                            Motion.EAST
-                    ));
-                    break;
-                case ZIG_ZAG_RIGHT:
-                    motionSequence.addAll(Arrays.asList(
-                            Motion.SOUTHEAST,
-                            Motion.SOUTHWEST
-                    ));
-                    break;
-                case ZIG_ZAG_LEFT:
-                    motionSequence.addAll(Arrays.asList(
-                            Motion.SOUTHWEST,
-                            Motion.SOUTHEAST
-                    ));
-                    break;
-            }
+        @Override
+        protected void run() {
+            if (fire()) fireLasers();
+            clock.schedule(this, fireDelay);
         }
-
     }
 
     public enum FiringPattern {
@@ -395,16 +341,31 @@ public class EnemyShip extends AbstractEntity {
         BURST
     }
 
+    /**
+     * Built-in movement patterns, described in the format MovementTable compiles.
+     */
     public enum MovementPatterns {
-        SIMPLE,
-        SIMPLE_PAUSE,
-        SIMPLE_PAUSE_LONG,
-        S_RIGHT,
-        S_LEFT,
-        STRAFE_S_RIGHT,
-        STRAFE_S_LEFT,
-        ZIG_ZAG_LEFT,
-        ZIG_ZAG_RIGHT
+        //Enemy moves straight down.
+        SIMPLE("SOUTH"),
+        //Enemy alternates moving and hovering.
+        SIMPLE_PAUSE("SOUTH STILL"),
+        //Same as above, but hover is twice times as long as motion.
+        SIMPLE_PAUSE_LONG("SOUTH STILL STILL"),
+        //Moves in a square s-curve starting going right (like a digital clock "2").
+        S_RIGHT("SOUTH EAST SOUTH WEST"),
+        //Same as above except starts going left (like a digital clock "5").
+        S_LEFT("SOUTH WEST SOUTH EAST"),
+        //Like S-curves except it spends more time going side to side before descending.
+        STRAFE_S_RIGHT("SOUTH EAST WEST EAST SOUTH WEST EAST WEST"),
+        STRAFE_S_LEFT("SOUTH WEST EAST WEST SOUTH EAST WEST EAST"),
+        ZIG_ZAG_LEFT("SOUTHWEST SOUTHEAST"),
+        ZIG_ZAG_RIGHT("SOUTHEAST SOUTHWEST");
+
+        public final String description;
+
+        MovementPatterns(String description) {
+            this.description = description;
+        }
     }
 
     public enum Motion {
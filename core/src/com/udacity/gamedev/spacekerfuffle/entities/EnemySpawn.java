@@ -0,0 +1,59 @@
+package com.udacity.gamedev.spacekerfuffle.entities;
+
+/**
+ * Immutable description of an enemy in the level data: where it appears and how it behaves.  The
+ * EnemyShip itself is only taken from the pool once the level reaches the spawn's y coordinate.
+ */
+public class EnemySpawn {
+
+    public final float x;
+    public final float y;
+    //Built-in pattern, or null if the level described its own movement.
+    public final EnemyShip.MovementPatterns movePattern;
+    public final EnemyShip.MovePhaseDuration phaseDuration;
+    //Compiled movement, shared with every other enemy that moves the same way.
+    public final MovementTable movement;
+    //Level data's own description of the movement, or null for a built-in pattern.
+    public final String moveDescription;
+    public final EnemyShip.Speed speed;
+    public final EnemyShip.FiringPattern firingPattern;
+    public final EnemyShip.FireRate fireRate;
+
+    public EnemySpawn(float x, float y,
+                      EnemyShip.MovementPatterns movePattern,
+                      EnemyShip.MovePhaseDuration phaseDuration,
+                      EnemyShip.Speed speed,
+                      EnemyShip.FiringPattern firingPattern,
+                      EnemyShip.FireRate fireRate) {
+        this.x = x;
+        this.y = y;
+        this.movePattern = movePattern;
+        this.phaseDuration = phaseDuration;
+        this.movement = MovementTable.get(movePattern, phaseDuration);
+        this.moveDescription = null;
+        this.speed = speed;
+        this.firingPattern = firingPattern;
+        this.fireRate = fireRate;
+    }
+
+    /**
+     * Creates a spawn that moves as described in the level data rather than by a built-in pattern.
+     * @param  moveDescription  Description in the format MovementTable.parse() reads.
+     */
+    public EnemySpawn(float x, float y,
+                      String moveDescription,
+                      EnemyShip.MovePhaseDuration phaseDuration,
+                      EnemyShip.Speed speed,
+                      EnemyShip.FiringPattern firingPattern,
+                      EnemyShip.FireRate fireRate) {
+        this.x = x;
+        this.y = y;
+        this.movePattern = null;
+        this.phaseDuration = phaseDuration;
+        this.movement = MovementTable.get(moveDescription, phaseDuration);
+        this.moveDescription = moveDescription;
+        this.speed = speed;
+        this.firingPattern = firingPattern;
+        this.fireRate = fireRate;
+    }
+}
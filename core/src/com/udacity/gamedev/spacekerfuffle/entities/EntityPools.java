@@ -0,0 +1,94 @@
+package com.udacity.gamedev.spacekerfuffle.entities;
+
+import com.badlogic.gdx.Gdx;
+import com.udacity.gamedev.spacekerfuffle.util.StatsPool;
+
+/**
+ * Singleton holding pools for entities that come and go during a level (enemies, powerups,
+ * missiles and explosions), so that spawning, firing and killing enemies doesn't allocate once the
+ * pools have warmed up, and memory follows the number of live entities rather than level length.
+ * Lasers aren't entities and live in the level's LaserStore instead.
+ */
+public class EntityPools {
+
+    public static final String LOG_TAG = EntityPools.class.getName();
+    public static final EntityPools instance = new EntityPools();
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    public final StatsPool<EnemyShip> enemyShips;
+    public final StatsPool<Powerup> powerups;
+    public final StatsPool<Missile> missiles;
+    public final StatsPool<Explosion> explosions;
+    public final StatsPool<MissileExplosion> missileExplosions;
+
+    private EntityPools() {
+        enemyShips = new StatsPool<EnemyShip>("EnemyShip", INITIAL_CAPACITY) {
+            @Override
+            protected EnemyShip newObject() {
+                return new EnemyShip();
+            }
+        };
+        powerups = new StatsPool<Powerup>("Powerup", INITIAL_CAPACITY) {
+            @Override
+            protected Powerup newObject() {
+                return new Powerup();
+            }
+        };
+        missiles = new StatsPool<Missile>("Missile", INITIAL_CAPACITY) {
+            @Override
+            protected Missile newObject() {
+                return new Missile();
+            }
+        };
+        explosions = new StatsPool<Explosion>("Explosion", INITIAL_CAPACITY) {
+            @Override
+            protected Explosion newObject() {
+                return new Explosion();
+            }
+        };
+        missileExplosions = new StatsPool<MissileExplosion>("MissileExplosion", INITIAL_CAPACITY) {
+            @Override
+            protected MissileExplosion newObject() {
+                return new MissileExplosion();
+            }
+        };
+    }
+
+    /**
+     * Returns an entity to its pool if it is a pooled type.  Other entities are ignored.
+     * @param  entity  Entity that has been removed from the level.
+     */
+    public void free(AbstractEntity entity) {
+        switch (entity.getType()) {
+            case ENEMY_SHIP:
+                enemyShips.free((EnemyShip) entity);
+                break;
+            case POWERUP:
+                powerups.free((Powerup) entity);
+                break;
+            case MISSILE:
+                missiles.free((Missile) entity);
+                break;
+            case EXPLOSION:
+                explosions.free((Explosion) entity);
+                break;
+            case MISSILE_EXPLOSION:
+                missileExplosions.free((MissileExplosion) entity);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Logs hit/miss/peak statistics for every pool.
+     */
+    public void logStats() {
+        Gdx.app.log(LOG_TAG, enemyShips.toString());
+        Gdx.app.log(LOG_TAG, powerups.toString());
+        Gdx.app.log(LOG_TAG, missiles.toString());
+        Gdx.app.log(LOG_TAG, explosions.toString());
+        Gdx.app.log(LOG_TAG, missileExplosions.toString());
+    }
+}
@@ -1,32 +1,50 @@
 package com.udacity.gamedev.spacekerfuffle.entities;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.Vector2;
+import com.udacity.gamedev.spacekerfuffle.entities.components.LifetimeComponent;
 import com.udacity.gamedev.spacekerfuffle.util.Assets;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
-import com.udacity.gamedev.spacekerfuffle.util.Utilities;
 
 /**
  * Class for animated explosions spawned when enemies or the player is destroyed.
  */
 public class Explosion extends AbstractEntity {
 
-    public Explosion(float x, float y) {
-        position = new Vector2(x, y);
-        init();
+    /**
+     * Explosions are pooled, so instances should be obtained from EntityPools and positioned with
+     * one of the set() methods rather than constructed directly.
+     */
+    public Explosion() {
+        super();
         setType(EntityType.EXPLOSION);
     }
 
-    public Explosion(AbstractEntity entity) {
-        this(entity.getX(), entity.getY());
+    @Override
+    protected void addComponents(Entity entity) {
+        super.addComponents(entity);
+        entity.add(new LifetimeComponent(GameplayConstants.EXPLOSION_DURATION));
+    }
+
+    /**
+     * Positions an explosion obtained from the pool.  Its animation starts when init() is called
+     * as it is added to the level.
+     * @param  x  x-coordinate of the explosion.
+     * @param  y  y-coordinate of the explosion.
+     * @return  This explosion, for chaining.
+     */
+    public Explosion set(float x, float y) {
+        setPosition(x, y);
+        return this;
     }
 
     /**
-     * Tests whether animation has completed.
-     * @return  true if animation is complete, false otherwise.
+     * Positions an explosion at the location of an entity.
+     * @param  entity  Entity that is exploding.
+     * @return  This explosion, for chaining.
      */
-    public boolean isOver() {
-        return Assets.instance.otherAssets.explosionAnimation.isAnimationFinished(Utilities.secondsSince(spawnTime));
+    public Explosion set(AbstractEntity entity) {
+        return set(entity.getX(), entity.getY());
     }
 
     @Override
@@ -46,6 +64,6 @@ public class Explosion extends AbstractEntity {
 
     @Override
     public TextureRegion getTextureRegion() {
-        return Assets.instance.otherAssets.explosionAnimation.getKeyFrame(Utilities.secondsSince(spawnTime));
+        return Assets.instance.otherAssets.explosionAnimation.getKeyFrame(secondsSinceSpawn());
     }
 }
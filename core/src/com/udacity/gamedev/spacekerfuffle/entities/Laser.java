@@ -1,65 +1,49 @@
 package com.udacity.gamedev.spacekerfuffle.entities;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.Vector2;
 import com.udacity.gamedev.spacekerfuffle.util.Assets;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
 
 /**
- * Laser projectiles fired by both the player and enemies.
+ * Properties of the laser projectiles fired by both the player and enemies.  Lasers are far too
+ * numerous to be individual entities, so the lasers in play are stored as plain numbers in the
+ * level's LaserStore and this class only describes what they look like and how fast they move.
  */
-public class Laser extends AbstractEntity {
+public class Laser {
 
-    public boolean playerLaser;
+    private Laser() {}
 
-    private final LaserType TYPE;
-
-    public Laser(float x, float y, Vector2 heading, boolean playerLaser, LaserType type) {
-        super(x, y);
-        this.heading.set(heading);
-        this.playerLaser = playerLaser;
-        TYPE = type;
-        trackHeading = true;
-        setType(playerLaser ? EntityType.PLAYER_LASER : EntityType.ENEMY_LASER);
-    }
-
-    public Laser(float x, float y, Vector2 heading, boolean playerLaser) {
-        this(x, y, heading, playerLaser,
-                (playerLaser) ? LaserType.BLUE : LaserType.RED
-        );
-    }
-
-    public Laser(float x, float y, Vector2 heading) {
-        this(x, y, heading, true);
-    }
-
-
-    @Override
-    public float getWidth() { return GameplayConstants.LASER_WIDTH; }
-
-    @Override
-    public float getHeight() { return GameplayConstants.LASER_HEIGHT; }
-
-    @Override
-    public float getSpeed() {
+    /**
+     * Returns the speed of a laser in world units per second.
+     * @param  playerLaser  True for lasers fired by the player, false for enemy lasers.
+     * @return  Speed as float.
+     */
+    public static float getSpeed(boolean playerLaser) {
         return (playerLaser) ? GameplayConstants.PLAYER_LASER_SPEED : GameplayConstants.ENEMY_LASER_SPEED;
     }
 
-    @Override
-    public TextureRegion getTextureRegion() {
-        switch (TYPE) {
-            case BLUE:default:
-                return Assets.instance.otherAssets.blueLaser;
-            case RED:
-                return Assets.instance.otherAssets.redLaser;
-            case POINTY:
-                return Assets.instance.otherAssets.pointyLaser;
-        }
-    }
+    public static float getWidth() { return GameplayConstants.LASER_WIDTH; }
+
+    public static float getHeight() { return GameplayConstants.LASER_HEIGHT; }
 
     public enum LaserType {
         BLUE,
         RED,
-        POINTY
+        POINTY;
+
+        /**
+         * Returns TextureRegion used to render lasers of this type.
+         * @return  TextureRegion.
+         */
+        public TextureRegion getTextureRegion() {
+            switch (this) {
+                case BLUE:default:
+                    return Assets.instance.otherAssets.blueLaser;
+                case RED:
+                    return Assets.instance.otherAssets.redLaser;
+                case POINTY:
+                    return Assets.instance.otherAssets.pointyLaser;
+            }
+        }
     }
 }
@@ -1,11 +1,12 @@
 package com.udacity.gamedev.spacekerfuffle.entities;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.TimeUtils;
+import com.udacity.gamedev.spacekerfuffle.entities.components.MissileComponent;
 import com.udacity.gamedev.spacekerfuffle.util.Assets;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
-import com.udacity.gamedev.spacekerfuffle.util.Utilities;
+import com.udacity.gamedev.spacekerfuffle.util.TimerWheel;
 
 /**
  * Represents missiles fired by the player, which cause explosions that destroy nearby enemies when
@@ -14,24 +15,61 @@ import com.udacity.gamedev.spacekerfuffle.util.Utilities;
 public class Missile extends AbstractEntity {
 
     private Motion motion;
-    private long ascendTime;
+    private double ascendTime;
 
-    public Missile(float x, float y, Vector2 heading) {
-        super(x, y);
-        this.heading.set(heading);
+    //Turns the missile upwards once its lateral motion is over.
+    private final TimerWheel.Timer ascendTimer = new TimerWheel.Timer() {
+        @Override
+        protected void run() {
+            heading.set(GameplayConstants.NORTH);
+            ascendTime = clock.now();
+            motion = Motion.VERTICAL;
+        }
+    };
+
+    /**
+     * Missiles are pooled, so instances should be obtained from EntityPools and positioned with
+     * set() rather than constructed directly.
+     */
+    public Missile() {
+        super();
         motion = Motion.LATERAL;
-        init();
         setType(EntityType.MISSILE);
     }
 
     @Override
-    public void updateHeading(float delta) {
-        if (motion == Motion.LATERAL && Utilities.secondsSince(spawnTime) > GameplayConstants.MISSILE_LATERAL_MOTION_TIME) {
-            heading.set(GameplayConstants.NORTH);
-            ascendTime = TimeUtils.nanoTime();
-            motion = Motion.VERTICAL;
-        }
-        super.updateHeading(delta);
+    protected void addComponents(Entity entity) {
+        super.addComponents(entity);
+        entity.add(new MissileComponent(this));
+    }
+
+    /**
+     * Initializes a missile obtained from the pool.  Its spawn time is set by init() as it is
+     * added to the level.
+     * @param  x  Starting x-coordinate.
+     * @param  y  Starting y-coordinate.
+     * @param  heading  Direction of the initial lateral motion.
+     * @return  This missile, for chaining.
+     */
+    public Missile set(float x, float y, Vector2 heading) {
+        setPosition(x, y);
+        this.heading.set(heading);
+        motion = Motion.LATERAL;
+        return this;
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        clock.schedule(ascendTimer, GameplayConstants.MISSILE_LATERAL_MOTION_TIME);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        ascendTimer.cancel();
+        motion = Motion.LATERAL;
+        ascendTime = 0;
     }
 
     @Override
@@ -40,10 +78,10 @@ public class Missile extends AbstractEntity {
             //Below speed calculations work because math.
             case LATERAL:
                 return GameplayConstants.MISSILE_INITIAL_LATERAL_SPEED -
-                        Utilities.secondsSince(spawnTime) * GameplayConstants.MISSILE_LATERAL_DECAY_FACTOR;
+                        secondsSinceSpawn() * GameplayConstants.MISSILE_LATERAL_DECAY_FACTOR;
             case VERTICAL: default:
                 return GameplayConstants.MISSILE_INITIAL_LATERAL_SPEED / 4 +
-                        Utilities.secondsSince(ascendTime) * GameplayConstants.MISSILE_ACCEL_FACTOR * GameplayConstants.MISSILE_ACCEL_FACTOR;
+                        clock.secondsSince(ascendTime) * GameplayConstants.MISSILE_ACCEL_FACTOR * GameplayConstants.MISSILE_ACCEL_FACTOR;
         }
     }
 
@@ -59,7 +97,7 @@ public class Missile extends AbstractEntity {
 
     @Override
     public TextureRegion getTextureRegion() {
-        return Assets.instance.otherAssets.missileAnimation.getKeyFrame(spawnTime);
+        return Assets.instance.otherAssets.missileAnimation.getKeyFrame(secondsSinceSpawn());
     }
 
     public enum Motion {
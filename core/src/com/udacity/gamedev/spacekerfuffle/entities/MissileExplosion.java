@@ -1,6 +1,8 @@
 package com.udacity.gamedev.spacekerfuffle.entities;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.math.Vector2;
+import com.udacity.gamedev.spacekerfuffle.entities.components.MissileExplosionComponent;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
 
 /**
@@ -12,14 +14,15 @@ public class MissileExplosion extends Explosion {
     //bonus points for killing multiple enemies with one missile.
     private int extraEnemiesKilled;
 
-    public MissileExplosion(float x, float y) {
-        super(x, y);
+    public MissileExplosion() {
+        super();
         setType(EntityType.MISSILE_EXPLOSION);
     }
 
-    public MissileExplosion(AbstractEntity entity) {
-        super(entity);
-        setType(EntityType.MISSILE_EXPLOSION);
+    @Override
+    protected void addComponents(Entity entity) {
+        super.addComponents(entity);
+        entity.add(new MissileExplosionComponent(this));
     }
 
     /**
@@ -59,6 +62,12 @@ public class MissileExplosion extends Explosion {
         extraEnemiesKilled = 0;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        extraEnemiesKilled = 0;
+    }
+
     @Override
     public float getWidth() {
         return GameplayConstants.MISSILE_EXPLOSION_WIDTH;
@@ -0,0 +1,214 @@
+package com.udacity.gamedev.spacekerfuffle.entities;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+
+/**
+ * Immutable, precompiled form of an enemy movement pattern: a cycle of motions, each held for the
+ * same phase duration.  Positions are a pure function of time since spawn, so an enemy never has to
+ * track its phase, and one table is shared by every enemy with the same pattern and duration.
+ *
+ * Patterns are described as a list of Motion names separated by spaces or commas, e.g.
+ * "SOUTH EAST SOUTH WEST".  The built-in MovementPatterns are described the same way, and levels
+ * can give enemies their own descriptions (see LevelJSONParser).
+ */
+public class MovementTable {
+
+    private static final EnemyShip.MovePhaseDuration[] DURATIONS = EnemyShip.MovePhaseDuration.values();
+    private static final MovementTable[][] BUILT_IN;
+    //Tables compiled from level data, keyed by phase duration and description.
+    private static final ObjectMap<String, MovementTable> DESCRIBED = new ObjectMap<String, MovementTable>();
+
+    static {
+        EnemyShip.MovementPatterns[] patterns = EnemyShip.MovementPatterns.values();
+        BUILT_IN = new MovementTable[patterns.length][DURATIONS.length];
+        for (EnemyShip.MovementPatterns pattern : patterns) {
+            for (EnemyShip.MovePhaseDuration duration : DURATIONS) {
+                BUILT_IN[pattern.ordinal()][duration.ordinal()] =
+                        parse(pattern.description, getPhaseSeconds(duration));
+            }
+        }
+    }
+
+    private final EnemyShip.Motion[] motions;
+    private final float phaseDuration;
+    private final float phasesPerSecond;
+    //Direction of each phase as a unit vector (zero for STILL).
+    private final float[] directionX;
+    private final float[] directionY;
+    //Displacement at unit speed from the start of a cycle to the start of each phase, and over a
+    //whole cycle.
+    private final float[] phaseStartX;
+    private final float[] phaseStartY;
+    private final float cycleX;
+    private final float cycleY;
+
+    /**
+     * @param  motions  Motions in the order they're performed, repeated forever.
+     * @param  phaseDuration  Seconds each motion is held for.  Ignored for single-motion patterns.
+     */
+    public MovementTable(EnemyShip.Motion[] motions, float phaseDuration) {
+        if (motions.length == 0) throw new GdxRuntimeException("Movement pattern has no motions.");
+        int count = motions.length;
+        this.motions = new EnemyShip.Motion[count];
+        System.arraycopy(motions, 0, this.motions, 0, count);
+        this.phaseDuration = (count > 1) ? phaseDuration : 0;
+        phasesPerSecond = (this.phaseDuration > 0) ? 1 / this.phaseDuration : 0;
+        directionX = new float[count];
+        directionY = new float[count];
+        phaseStartX = new float[count];
+        phaseStartY = new float[count];
+        Vector2 direction = new Vector2();
+        float x = 0;
+        float y = 0;
+        for (int i = 0; i < count; i++) {
+            getDirection(motions[i], direction);
+            directionX[i] = direction.x;
+            directionY[i] = direction.y;
+            phaseStartX[i] = x;
+            phaseStartY[i] = y;
+            x += direction.x * this.phaseDuration;
+            y += direction.y * this.phaseDuration;
+        }
+        cycleX = x;
+        cycleY = y;
+    }
+
+    /**
+     * Gets the shared table for one of the built-in patterns.
+     * @param  pattern  Pattern from MovementPatterns enum.
+     * @param  duration  Duration from MovePhaseDuration enum.
+     * @return  Shared MovementTable.
+     */
+    public static MovementTable get(EnemyShip.MovementPatterns pattern, EnemyShip.MovePhaseDuration duration) {
+        return BUILT_IN[pattern.ordinal()][duration.ordinal()];
+    }
+
+    /**
+     * Gets a shared table for a pattern described in level data, compiling it on first use.  Safe
+     * to call while levels are loaded on another thread.
+     * @param  description  Motion names separated by spaces or commas, e.g. "SOUTH STILL".
+     * @param  duration  Duration from MovePhaseDuration enum.
+     * @return  Shared MovementTable.
+     * @throws  GdxRuntimeException  If the description names an unknown motion.
+     */
+    public static synchronized MovementTable get(String description, EnemyShip.MovePhaseDuration duration) {
+        String key = duration.name() + ':' + description;
+        MovementTable table = DESCRIBED.get(key);
+        if (table == null) {
+            table = parse(description, getPhaseSeconds(duration));
+            DESCRIBED.put(key, table);
+        }
+        return table;
+    }
+
+    /**
+     * Compiles a pattern description.
+     * @param  description  Motion names separated by spaces or commas, e.g. "SOUTH STILL".
+     * @param  phaseDuration  Seconds each motion is held for.
+     * @return  New MovementTable.
+     * @throws  GdxRuntimeException  If the description names an unknown motion.
+     */
+    public static MovementTable parse(String description, float phaseDuration) {
+        String[] names = description.trim().split("[\\s,]+");
+        EnemyShip.Motion[] motions = new EnemyShip.Motion[names.length];
+        for (int i = 0; i < names.length; i++) {
+            try {
+                motions[i] = EnemyShip.Motion.valueOf(names[i].toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new GdxRuntimeException("Unknown motion \"" + names[i] + "\" in \"" + description + "\".");
+            }
+        }
+        return new MovementTable(motions, phaseDuration);
+    }
+
+    /**
+     * Gets the duration of a phase in seconds.
+     * @param  duration  Duration from MovePhaseDuration enum.
+     * @return  Seconds.
+     */
+    public static float getPhaseSeconds(EnemyShip.MovePhaseDuration duration) {
+        switch (duration) {
+            case SHORT:
+                return GameplayConstants.ENEMY_PHASE_DURATION_SHORT;
+            case LONG:
+                return GameplayConstants.ENEMY_PHASE_DURATION_LONG;
+            case MEDIUM: default:
+                return GameplayConstants.ENEMY_PHASE_DURATION_MEDIUM;
+        }
+    }
+
+    /**
+     * Gets the motion being performed at a given time.
+     * @param  seconds  Seconds since spawn.
+     * @return  Current motion.
+     */
+    public EnemyShip.Motion getMotion(float seconds) {
+        return motions[(int) (seconds * phasesPerSecond) % motions.length];
+    }
+
+    /**
+     * Computes the position at a given time.
+     * @param  seconds  Seconds since spawn.
+     * @param  speed  Speed in world units per second.
+     * @param  originX  x coordinate at spawn.
+     * @param  originY  y coordinate at spawn.
+     * @param  out  Vector2 that receives the position.
+     * @return  out, for chaining.
+     */
+    public Vector2 getPosition(float seconds, float speed, float originX, float originY, Vector2 out) {
+        if (phaseDuration == 0) {
+            return out.set(originX + directionX[0] * speed * seconds, originY + directionY[0] * speed * seconds);
+        }
+        int phases = (int) (seconds * phasesPerSecond);
+        int cycles = phases / motions.length;
+        int phase = phases - cycles * motions.length;
+        float inPhase = seconds - phases * phaseDuration;
+        float x = cycles * cycleX + phaseStartX[phase] + directionX[phase] * inPhase;
+        float y = cycles * cycleY + phaseStartY[phase] + directionY[phase] * inPhase;
+        return out.set(originX + x * speed, originY + y * speed);
+    }
+
+    public float getPhaseDuration() {
+        return phaseDuration;
+    }
+
+    public int getMotionCount() {
+        return motions.length;
+    }
+
+    private static void getDirection(EnemyShip.Motion motion, Vector2 out) {
+        switch (motion) {
+            case NORTH:
+                out.set(GameplayConstants.NORTH);
+                break;
+            case EAST:
+                out.set(GameplayConstants.EAST);
+                break;
+            case SOUTH:
+                out.set(GameplayConstants.SOUTH);
+                break;
+            case WEST:
+                out.set(GameplayConstants.WEST);
+                break;
+            case NORTHEAST:
+                out.set(GameplayConstants.NORTHEAST);
+                break;
+            case NORTHWEST:
+                out.set(GameplayConstants.NORTHWEST);
+                break;
+            case SOUTHEAST:
+                out.set(GameplayConstants.SOUTHEAST);
+                break;
+            case SOUTHWEST:
+                out.set(GameplayConstants.SOUTHWEST);
+                break;
+            case STILL:
+                out.setZero();
+                break;
+        }
+        out.nor();
+    }
+}
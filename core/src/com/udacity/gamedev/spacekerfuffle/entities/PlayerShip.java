@@ -1,18 +1,18 @@
 package com.udacity.gamedev.spacekerfuffle.entities;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ShooterComponent;
 import com.udacity.gamedev.spacekerfuffle.util.Assets;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
-import com.udacity.gamedev.spacekerfuffle.util.Utilities;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
+import com.udacity.gamedev.spacekerfuffle.util.TimerWheel;
 
 /**
  * Class representing the player's ship.
@@ -23,17 +23,36 @@ public class PlayerShip extends AbstractEntity {
     public int missiles;
     public boolean improvedLasers;
     public boolean invulnerable;
+    //Fires lasers and missiles continuously regardless of input, as on mobile.  Used when running
+    //levels without a player, e.g. in headless simulations.
+    public boolean autoFire;
+    //Never runs out of lives.  Used for long headless runs of endless levels.
+    public boolean immortal;
 
     private Motion motion;
 
-    private long laserFireTime;
-    private long missileFireTime;
-    private long improvedLaserTime;
+    private double laserFireTime;
+    private double missileFireTime;
+
+    private final TimerWheel.Timer invulnerabilityTimer = new TimerWheel.Timer() {
+        @Override
+        protected void run() {
+            invulnerable = false;
+        }
+    };
+    private final TimerWheel.Timer improvedLaserTimer = new TimerWheel.Timer() {
+        @Override
+        protected void run() {
+            improvedLasers = false;
+        }
+    };
+
+    //Reused each frame to unproject touch input.
+    private final Vector2 touchPosition = new Vector2();
     
     public PlayerShip(Viewport viewport) {
         super(0,0);
         this.viewport = viewport;
-        init(true);
         setType(EntityType.PLAYER);
     }
 
@@ -53,11 +72,13 @@ public class PlayerShip extends AbstractEntity {
         position = new Vector2(GameplayConstants.WORLD_WIDTH / 2, GameplayConstants.PLAYER_SHIP_HEIGHT);
         heading = new Vector2();
         motion = Motion.NEUTRAL;
-        spawnTime = TimeUtils.nanoTime();
-        laserFireTime = TimeUtils.nanoTime() - 1000;
-        missileFireTime = TimeUtils.nanoTime() - 1000;
+        spawnTime = clock.now();
+        laserFireTime = clock.now();
+        missileFireTime = clock.now();
         improvedLasers = false;
+        improvedLaserTimer.cancel();
         invulnerable = true;
+        clock.schedule(invulnerabilityTimer, GameplayConstants.RESPAWN_INVULNERABILITY_DURATION);
         if (stageStart) {
             lives = GameplayConstants.STARTING_LIVES;
             missiles = GameplayConstants.STARTING_MISSILES;
@@ -68,17 +89,10 @@ public class PlayerShip extends AbstractEntity {
     @Override
     public void update(float delta){
         super.update(delta);
-        if (invulnerable) {
-            invulnerable = Utilities.secondsSince(spawnTime) < GameplayConstants.RESPAWN_INVULNERABILITY_DURATION;
-        }
         position.x = Math.max(position.x, getWidth() / 2);
         position.x = Math.min(position.x, viewport.getWorldWidth() - getWidth() / 2);
         position.y = Math.max(position.y, getHeight() / 2);
         position.y = Math.min(position.y, viewport.getWorldHeight() - getHeight() / 2);
-        if (improvedLasers &&
-            Utilities.secondsSince(improvedLaserTime) > GameplayConstants.IMPROVED_LASER_DURATION) {
-            improvedLasers = false;
-        }
     }
 
     @Override
@@ -89,7 +103,7 @@ public class PlayerShip extends AbstractEntity {
                 || Gdx.app.getType() == Application.ApplicationType.iOS
                 ) {
             if (Gdx.input.isTouched()) {
-                Vector2 touchPos = viewport.unproject(new Vector2(Gdx.input.getX(), Gdx.input.getY()));
+                Vector2 touchPos = viewport.unproject(touchPosition.set(Gdx.input.getX(), Gdx.input.getY()));
                 touchPos.sub(GameplayConstants.TOUCHSCREEN_CONTROL_OFFSET);
                 touchPos.sub(position);
                 heading.set(touchPos);
@@ -127,17 +141,17 @@ public class PlayerShip extends AbstractEntity {
     public boolean fire(Weapon weapon) {
         switch (weapon) {
             case LASER:
-                if (Utilities.secondsSince(laserFireTime) < GameplayConstants.PLAYER_LASER_FIRE_DELAY) {
+                if (clock.secondsSince(laserFireTime) < GameplayConstants.PLAYER_LASER_FIRE_DELAY) {
                     return false;
                 }
-                laserFireTime = TimeUtils.nanoTime();
+                laserFireTime = clock.now();
                 return true;
             case MISSILE:
                 if (missiles <= 0 ||
-                    Utilities.secondsSince(missileFireTime) < GameplayConstants.PLAYER_MISSILE_FIRE_DELAY) {
+                    clock.secondsSince(missileFireTime) < GameplayConstants.PLAYER_MISSILE_FIRE_DELAY) {
                     return false;
                 }
-                missileFireTime = TimeUtils.nanoTime();
+                missileFireTime = clock.now();
                 missiles--;
                 return true;
             default:
@@ -146,53 +160,36 @@ public class PlayerShip extends AbstractEntity {
     }
 
     @Override
-    public Array<Laser> getLasers() {
-        boolean mobile = Gdx.app.getType() == Application.ApplicationType.Android
+    protected void addComponents(Entity entity) {
+        super.addComponents(entity);
+        entity.add(new ShooterComponent());
+    }
+
+    @Override
+    public void emitProjectiles(ProjectileSink sink) {
+        boolean continuousFire = autoFire
+                || Gdx.app.getType() == Application.ApplicationType.Android
                 || Gdx.app.getType() == Application.ApplicationType.iOS;
-        Array<Laser> lasers = new Array<Laser>();
-        if ((Gdx.input.isKeyPressed(Input.Keys.Z) || mobile) && fire(PlayerShip.Weapon.LASER)) {
-            lasers.add(new Laser(
-                    getX(),
-                    getY(),
-                    GameplayConstants.NORTH
-            ));
+        if ((Gdx.input.isKeyPressed(Input.Keys.Z) || continuousFire) && fire(PlayerShip.Weapon.LASER)) {
+            fireLaser(sink, GameplayConstants.NORTH);
             if (improvedLasers) {
-                lasers.add(new Laser(
-                        getX(),
-                        getY(),
-                        GameplayConstants.IMPROVED_LASER_LEFT_HEADING
-                ));
-                lasers.add(new Laser(
-                        getX(),
-                        getY(),
-                        GameplayConstants.IMPROVED_LASER_RIGHT_HEADING
-                ));
+                fireLaser(sink, GameplayConstants.IMPROVED_LASER_LEFT_HEADING);
+                fireLaser(sink, GameplayConstants.IMPROVED_LASER_RIGHT_HEADING);
             }
         }
-        return lasers;
+        if ((Gdx.input.isKeyPressed(Input.Keys.X) || continuousFire) && fire(PlayerShip.Weapon.MISSILE)) {
+            sink.fireMissile(getX(), getY(), GameplayConstants.MISSILE_LEFT_HEADING);
+            sink.fireMissile(getX(), getY(), GameplayConstants.MISSILE_RIGHT_HEADING);
+        }
     }
 
     /**
-     * As getLasers but gets array of Missiles.
-     * @return  Array of Missiles fired this frame.
+     * Fires a single player laser from the ship's current position.
+     * @param  sink  ProjectileSink that receives the laser.
+     * @param  direction  Direction of travel.
      */
-    public Array<Missile> getMissiles() {
-        boolean mobile = Gdx.app.getType() == Application.ApplicationType.Android
-                || Gdx.app.getType() == Application.ApplicationType.iOS;
-        Array<Missile> missiles = new Array<Missile>();
-        if ((Gdx.input.isKeyPressed(Input.Keys.X) || mobile) && fire(PlayerShip.Weapon.MISSILE)) {
-            missiles.add(new Missile(
-                    getX(),
-                    getY(),
-                    GameplayConstants.MISSILE_LEFT_HEADING
-            ));
-            missiles.add(new Missile(
-                    getX(),
-                    getY(),
-                    GameplayConstants.MISSILE_RIGHT_HEADING
-            ));
-        }
-        return missiles;
+    private void fireLaser(ProjectileSink sink, Vector2 direction) {
+        sink.fireLaser(getX(), getY(), direction.x, direction.y, true, Laser.LaserType.BLUE);
     }
 
     /**
@@ -200,7 +197,7 @@ public class PlayerShip extends AbstractEntity {
      * @return  true if the player is out of lives, false otherwise.
      */
     public boolean die() {
-        lives--;
+        if (!immortal) lives--;
         init(false);
         return (lives <= 0);
     }
@@ -218,7 +215,7 @@ public class PlayerShip extends AbstractEntity {
      */
     public void improveLasers() {
         improvedLasers = true;
-        improvedLaserTime = TimeUtils.nanoTime();
+        clock.schedule(improvedLaserTimer, GameplayConstants.IMPROVED_LASER_DURATION);
     }
 
     @Override
@@ -227,11 +224,11 @@ public class PlayerShip extends AbstractEntity {
     }
 
     @Override
-    public void render(Batch batch) {
-        if (invulnerable && Utilities.secondsSince(spawnTime) % GameplayConstants.INVULNERABILITY_BLINK_DURATION * 2 < GameplayConstants.INVULNERABILITY_BLINK_DURATION) {
+    public void render(RenderQueue queue) {
+        if (invulnerable && secondsSinceSpawn() % GameplayConstants.INVULNERABILITY_BLINK_DURATION * 2 < GameplayConstants.INVULNERABILITY_BLINK_DURATION) {
             return;
         }
-        super.render(batch);
+        super.render(queue);
     }
 
     @Override
@@ -251,14 +248,14 @@ public class PlayerShip extends AbstractEntity {
         Animation anim;
         switch (motion) {
             case ROLL_LEFT: case ROLL_RIGHT:
-                anim = (Utilities.secondsSince(laserFireTime) < GameplayConstants.MUZZLE_FLASH_DURATION ||
-                    Utilities.secondsSince(missileFireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
+                anim = (clock.secondsSince(laserFireTime) < GameplayConstants.MUZZLE_FLASH_DURATION ||
+                    clock.secondsSince(missileFireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
                         Assets.instance.playerShipAssets.playerShipTurningFiring :
                         Assets.instance.playerShipAssets.playerShipTurning;
                 break;
             case NEUTRAL:
-                anim = (Utilities.secondsSince(laserFireTime) < GameplayConstants.MUZZLE_FLASH_DURATION ||
-                    Utilities.secondsSince(missileFireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
+                anim = (clock.secondsSince(laserFireTime) < GameplayConstants.MUZZLE_FLASH_DURATION ||
+                    clock.secondsSince(missileFireTime) < GameplayConstants.MUZZLE_FLASH_DURATION) ?
                         Assets.instance.playerShipAssets.playerShipFiring :
                         Assets.instance.playerShipAssets.playerShipNeutral;
                 break;
@@ -266,7 +263,7 @@ public class PlayerShip extends AbstractEntity {
                 anim = Assets.instance.playerShipAssets.playerShipNeutral;
                 break;
         }
-        return anim.getKeyFrame(Utilities.secondsSince(spawnTime));
+        return anim.getKeyFrame(secondsSinceSpawn());
     }
 
     @Override
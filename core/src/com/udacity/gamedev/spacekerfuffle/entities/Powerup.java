@@ -1,7 +1,9 @@
 package com.udacity.gamedev.spacekerfuffle.entities;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.udacity.gamedev.spacekerfuffle.entities.components.PowerupComponent;
 import com.udacity.gamedev.spacekerfuffle.util.Assets;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
 
@@ -13,6 +15,15 @@ public class Powerup extends AbstractEntity {
 
     public PowerupType type;
 
+    /**
+     * Powerups in the level are pooled, so instances should be obtained from EntityPools and set
+     * up from a PowerupSpawn with set() rather than constructed directly.
+     */
+    public Powerup() {
+        super();
+        setType(EntityType.POWERUP);
+    }
+
     public Powerup(float x, float y, PowerupType type) {
         super(x, y);
         heading = new Vector2(0, -1);
@@ -20,6 +31,34 @@ public class Powerup extends AbstractEntity {
         setType(EntityType.POWERUP);
     }
 
+    /**
+     * Sets up a powerup obtained from the pool as described by a spawn record.
+     * @param  spawn  Position and type of the powerup.
+     * @return  This powerup, for chaining.
+     */
+    public Powerup set(PowerupSpawn spawn) {
+        setPosition(spawn.x, spawn.y);
+        heading.set(0, -1);
+        type = spawn.type;
+        return this;
+    }
+
+    /**
+     * Moves the powerup as far down as it would have drifted in age seconds.
+     * @param  age  Seconds since the powerup would have spawned.
+     */
+    @Override
+    public void init(float age) {
+        super.init(age);
+        position.y -= getSpeed() * age;
+    }
+
+    @Override
+    protected void addComponents(Entity entity) {
+        super.addComponents(entity);
+        entity.add(new PowerupComponent(this));
+    }
+
     /**
      * Apply powerup to player.
      * @param  playerShip  Player object to apply powerup.
@@ -0,0 +1,18 @@
+package com.udacity.gamedev.spacekerfuffle.entities;
+
+/**
+ * Immutable description of a powerup in the level data.  The Powerup itself is only taken from
+ * the pool once the level reaches the spawn's y coordinate.
+ */
+public class PowerupSpawn {
+
+    public final float x;
+    public final float y;
+    public final Powerup.PowerupType type;
+
+    public PowerupSpawn(float x, float y, Powerup.PowerupType type) {
+        this.x = x;
+        this.y = y;
+        this.type = type;
+    }
+}
@@ -0,0 +1,29 @@
+package com.udacity.gamedev.spacekerfuffle.entities;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Receives the projectiles fired by ships.  Level hands the same sink to every shooter each frame
+ * and shooters write their shots straight into it, so frames where nothing fires don't allocate.
+ */
+public interface ProjectileSink {
+
+    /**
+     * Adds a laser to the level.
+     * @param  x  Starting x-coordinate.
+     * @param  y  Starting y-coordinate.
+     * @param  headingX  x component of the direction of travel (any length).
+     * @param  headingY  y component of the direction of travel (any length).
+     * @param  playerLaser  True for lasers fired by the player, false for enemy lasers.
+     * @param  type  Appearance of the laser.
+     */
+    void fireLaser(float x, float y, float headingX, float headingY, boolean playerLaser, Laser.LaserType type);
+
+    /**
+     * Adds a player missile to the level.
+     * @param  x  Starting x-coordinate.
+     * @param  y  Starting y-coordinate.
+     * @param  heading  Direction of the missile's initial lateral motion.
+     */
+    void fireMissile(float x, float y, Vector2 heading);
+}
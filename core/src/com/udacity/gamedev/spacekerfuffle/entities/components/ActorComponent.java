@@ -0,0 +1,17 @@
+package com.udacity.gamedev.spacekerfuffle.entities.components;
+
+import com.badlogic.ashley.core.Component;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+
+/**
+ * Links an Ashley entity to the game object that holds its state and behavior.  Every entity in
+ * a level has one.
+ */
+public class ActorComponent implements Component {
+
+    public final AbstractEntity actor;
+
+    public ActorComponent(AbstractEntity actor) {
+        this.actor = actor;
+    }
+}
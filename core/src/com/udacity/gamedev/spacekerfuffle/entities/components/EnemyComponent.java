@@ -0,0 +1,16 @@
+package com.udacity.gamedev.spacekerfuffle.entities.components;
+
+import com.badlogic.ashley.core.Component;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
+
+/**
+ * Marks enemy ships, which can be hit by the player's projectiles.
+ */
+public class EnemyComponent implements Component {
+
+    public final EnemyShip ship;
+
+    public EnemyComponent(EnemyShip ship) {
+        this.ship = ship;
+    }
+}
@@ -0,0 +1,19 @@
+package com.udacity.gamedev.spacekerfuffle.entities.components;
+
+import com.badlogic.ashley.core.Component;
+import com.udacity.gamedev.spacekerfuffle.util.TimerWheel;
+
+/**
+ * Gives an entity a fixed lifetime, after which it is removed from the level.
+ */
+public class LifetimeComponent implements Component {
+
+    //Seconds from spawn (AbstractEntity.init()) until removal.
+    public final float lifetime;
+    //Timer that removes the entity, created by LifetimeSystem the first time the entity is added.
+    public TimerWheel.Timer expiry;
+
+    public LifetimeComponent(float lifetime) {
+        this.lifetime = lifetime;
+    }
+}
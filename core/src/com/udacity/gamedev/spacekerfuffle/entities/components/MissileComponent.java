@@ -0,0 +1,16 @@
+package com.udacity.gamedev.spacekerfuffle.entities.components;
+
+import com.badlogic.ashley.core.Component;
+import com.udacity.gamedev.spacekerfuffle.entities.Missile;
+
+/**
+ * Marks player missiles, which explode when they hit an enemy or the boss.
+ */
+public class MissileComponent implements Component {
+
+    public final Missile missile;
+
+    public MissileComponent(Missile missile) {
+        this.missile = missile;
+    }
+}
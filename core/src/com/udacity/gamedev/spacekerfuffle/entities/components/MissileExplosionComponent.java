@@ -0,0 +1,16 @@
+package com.udacity.gamedev.spacekerfuffle.entities.components;
+
+import com.badlogic.ashley.core.Component;
+import com.udacity.gamedev.spacekerfuffle.entities.MissileExplosion;
+
+/**
+ * Marks missile explosions, which destroy enemies within their blast radius.
+ */
+public class MissileExplosionComponent implements Component {
+
+    public final MissileExplosion explosion;
+
+    public MissileExplosionComponent(MissileExplosion explosion) {
+        this.explosion = explosion;
+    }
+}
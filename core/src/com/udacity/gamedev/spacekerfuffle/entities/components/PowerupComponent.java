@@ -0,0 +1,16 @@
+package com.udacity.gamedev.spacekerfuffle.entities.components;
+
+import com.badlogic.ashley.core.Component;
+import com.udacity.gamedev.spacekerfuffle.entities.Powerup;
+
+/**
+ * Marks powerups, which are applied when the player flies over them.
+ */
+public class PowerupComponent implements Component {
+
+    public final Powerup powerup;
+
+    public PowerupComponent(Powerup powerup) {
+        this.powerup = powerup;
+    }
+}
@@ -0,0 +1,8 @@
+package com.udacity.gamedev.spacekerfuffle.entities.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Marks entities that fire projectiles each frame through AbstractEntity.emitProjectiles().
+ */
+public class ShooterComponent implements Component {}
@@ -0,0 +1,50 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.gdx.utils.Array;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+
+/**
+ * Broadphase for collision detection.  Entities are indexed by the bounds of their hit region so
+ * that collision queries only run exact hit tests against entities that are nearby.  Queries may
+ * return entities that turn out not to collide; callers are expected to follow up with the
+ * entity's own hit test.
+ */
+public interface Broadphase {
+
+    /**
+     * Removes all entities from the broadphase.  Called at the start of each tick before it is
+     * rebuilt.
+     */
+    void clear();
+
+    /**
+     * Indexes an entity by its current position and hit width/height.
+     * @param  entity  Entity to be added.
+     */
+    void insert(AbstractEntity entity);
+
+    /**
+     * Removes an entity from the broadphase.  The entity must not have moved since it was inserted.
+     * @param  entity  Entity to be removed.
+     */
+    void remove(AbstractEntity entity);
+
+    /**
+     * Finds entities whose hit region may contain a given point.
+     * @param  x  x coordinate of interest.
+     * @param  y  y coordinate of interest.
+     * @param  results  Array to store candidate entities in.  Cleared before use.
+     */
+    void queryPoint(float x, float y, Array<AbstractEntity> results);
+
+    /**
+     * Finds entities whose hit region may overlap a given rectangle.  Each entity appears in the
+     * results at most once.
+     * @param  x  x coordinate of the center of the rectangle.
+     * @param  y  y coordinate of the center of the rectangle.
+     * @param  halfWidth  Half the width of the rectangle.
+     * @param  halfHeight  Half the height of the rectangle.
+     * @param  results  Array to store candidate entities in.  Cleared before use.
+     */
+    void queryArea(float x, float y, float halfWidth, float halfHeight, Array<AbstractEntity> results);
+}
@@ -0,0 +1,45 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.gdx.utils.Array;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+
+/**
+ * Reference broadphase that returns every indexed entity for every query, which makes collision
+ * detection equivalent to testing every pair.  Slow, but useful for checking the results of
+ * SpatialHashGrid.
+ */
+public class BruteForceBroadphase implements Broadphase {
+
+    private Array<AbstractEntity> entities;
+
+    public BruteForceBroadphase() {
+        entities = new Array<AbstractEntity>();
+    }
+
+    @Override
+    public void clear() {
+        entities.clear();
+    }
+
+    @Override
+    public void insert(AbstractEntity entity) {
+        entities.add(entity);
+    }
+
+    @Override
+    public void remove(AbstractEntity entity) {
+        entities.removeValue(entity, true);
+    }
+
+    @Override
+    public void queryPoint(float x, float y, Array<AbstractEntity> results) {
+        results.clear();
+        results.addAll(entities);
+    }
+
+    @Override
+    public void queryArea(float x, float y, float halfWidth, float halfHeight, Array<AbstractEntity> results) {
+        results.clear();
+        results.addAll(entities);
+    }
+}
@@ -0,0 +1,228 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.Array;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+import com.udacity.gamedev.spacekerfuffle.entities.Boss;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
+import com.udacity.gamedev.spacekerfuffle.entities.EntityPools;
+import com.udacity.gamedev.spacekerfuffle.entities.Missile;
+import com.udacity.gamedev.spacekerfuffle.entities.MissileExplosion;
+import com.udacity.gamedev.spacekerfuffle.entities.PlayerShip;
+import com.udacity.gamedev.spacekerfuffle.entities.Powerup;
+import com.udacity.gamedev.spacekerfuffle.entities.components.EnemyComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.MissileComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.MissileExplosionComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.PowerupComponent;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+
+/**
+ * Detects collisions between projectiles and ships, destroys objects and spawns explosions as
+ * necessary.  Enemies and the boss are indexed in the broadphase first so that each projectile
+ * only runs hit tests against nearby targets.  Entities removed earlier in the tick are skipped.
+ */
+public class CollisionSystem extends EntitySystem {
+
+    public static final int PRIORITY = 3;
+
+    private static final ComponentMapper<EnemyComponent> ENEMIES = ComponentMapper.getFor(EnemyComponent.class);
+    private static final ComponentMapper<MissileComponent> MISSILES = ComponentMapper.getFor(MissileComponent.class);
+    private static final ComponentMapper<PowerupComponent> POWERUPS = ComponentMapper.getFor(PowerupComponent.class);
+    private static final ComponentMapper<MissileExplosionComponent> MISSILE_EXPLOSIONS =
+            ComponentMapper.getFor(MissileExplosionComponent.class);
+
+    private final Level level;
+    private Broadphase broadphase;
+    private final Array<AbstractEntity> collisionCandidates;
+
+    private ImmutableArray<Entity> enemies;
+    private ImmutableArray<Entity> missiles;
+    private ImmutableArray<Entity> powerups;
+    private ImmutableArray<Entity> missileExplosions;
+
+    public CollisionSystem(Level level, Broadphase broadphase) {
+        super(PRIORITY);
+        this.level = level;
+        this.broadphase = broadphase;
+        collisionCandidates = new Array<AbstractEntity>();
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        enemies = engine.getEntitiesFor(Family.all(EnemyComponent.class).get());
+        missiles = engine.getEntitiesFor(Family.all(MissileComponent.class).get());
+        powerups = engine.getEntitiesFor(Family.all(PowerupComponent.class).get());
+        missileExplosions = engine.getEntitiesFor(Family.all(MissileExplosionComponent.class).get());
+    }
+
+    /**
+     * Replaces the broadphase used for collision detection.
+     * @param  broadphase  Broadphase to use from the next frame on.
+     */
+    public void setBroadphase(Broadphase broadphase) {
+        this.broadphase = broadphase;
+    }
+
+    @Override
+    public void update(float delta) {
+        FrameProfiler.instance.begin(FrameProfiler.Phase.COLLISION);
+        detectCollisions();
+        FrameProfiler.instance.end(FrameProfiler.Phase.COLLISION);
+    }
+
+    /**
+     * Resolves this frame's hits between projectiles, ships and powerups.
+     */
+    private void detectCollisions() {
+        PlayerShip playerShip = level.playerShip;
+        Boss boss = level.getBoss();
+        LaserStore lasers = level.getLasers();
+
+        broadphase.clear();
+        for (int i = 0; i < enemies.size(); i++) {
+            Entity entity = enemies.get(i);
+            if (!entity.isScheduledForRemoval()) broadphase.insert(ENEMIES.get(entity).ship);
+        }
+        if (boss != null) broadphase.insert(boss);
+
+        //Lasers are swap-removed, so the index only advances when the current laser survives.
+        int laserIndex = 0;
+        while (laserIndex < lasers.size()) {
+            float laserX = lasers.getX(laserIndex);
+            float laserY = lasers.getY(laserIndex);
+            if (lasers.isPlayerLaser(laserIndex)) {
+                AbstractEntity target = findTarget(laserX, laserY, boss);
+                if (target == null) {
+                    laserIndex++;
+                    continue;
+                }
+                if (target == boss) {
+                    boolean partKilled = boss.takeDamage(laserX, laserY);
+                    if (partKilled) level.checkForWin();
+                } else {
+                    killEnemy((EnemyShip) target);
+                    level.score += GameplayConstants.SCORE_ENEMY_KILL_ADDITION;
+                }
+                lasers.remove(laserIndex);
+            } else if (playerShip.hit(laserX, laserY)) {
+                lasers.remove(laserIndex);
+                level.score -= GameplayConstants.SCORE_DEATH_DEDUCTION;
+                level.addEntity(EntityPools.instance.explosions.obtain().set(playerShip));
+                if (playerShip.die()) {
+                    level.state = Level.State.LOSE;
+                }
+            } else {
+                laserIndex++;
+            }
+        }
+
+        for (int i = 0; i < missiles.size(); i++) {
+            Entity entity = missiles.get(i);
+            if (entity.isScheduledForRemoval()) continue;
+            Missile missile = MISSILES.get(entity).missile;
+            AbstractEntity target = findTarget(missile.getX(), missile.getY(), boss);
+            if (target == null) continue;
+            if (target == boss) {
+                //Missiles deal double damage to boss, so takeDamage() is called twice.
+                boolean partKilled = boss.takeDamage(missile.getX(), missile.getY());
+                partKilled = boss.takeDamage(missile.getX(), missile.getY()) || partKilled;
+                if (partKilled) level.checkForWin();
+            } else {
+                killEnemy((EnemyShip) target);
+                level.score += GameplayConstants.SCORE_ENEMY_KILL_ADDITION;
+            }
+            getEngine().removeEntity(entity);
+            level.addEntity(EntityPools.instance.missileExplosions.obtain().set(missile));
+        }
+
+        for (int i = 0; i < powerups.size(); i++) {
+            Entity entity = powerups.get(i);
+            if (entity.isScheduledForRemoval()) continue;
+            Powerup powerup = POWERUPS.get(entity).powerup;
+            if (playerShip.hit(powerup.getX(), powerup.getY())) {
+                powerup.apply(playerShip);
+                getEngine().removeEntity(entity);
+                level.score += GameplayConstants.SCORE_POWERUP_ADDITION;
+            }
+        }
+
+        for (int i = 0; i < missileExplosions.size(); i++) {
+            Entity entity = missileExplosions.get(i);
+            if (entity.isScheduledForRemoval()) continue;
+            MissileExplosion missileExplosion = MISSILE_EXPLOSIONS.get(entity).explosion;
+            float radius = missileExplosion.getHitWidth() / 2;
+            broadphase.queryArea(missileExplosion.getX(), missileExplosion.getY(), radius, radius, collisionCandidates);
+            for (AbstractEntity candidate : collisionCandidates) {
+                if (candidate.getType() != AbstractEntity.EntityType.ENEMY_SHIP) continue;
+                if (missileExplosion.consume(candidate)) {
+                    killEnemy((EnemyShip) candidate);
+                    level.score += GameplayConstants.SCORE_ENEMY_KILL_ADDITION;
+                }
+            }
+        }
+
+        //The player is moved back to the start position on death, so the query is repeated until
+        //no enemy overlaps the player's current position.
+        EnemyShip collidingEnemy = findEnemyAt(playerShip.getX(), playerShip.getY());
+        while (collidingEnemy != null) {
+            killEnemy(collidingEnemy);
+            level.addEntity(EntityPools.instance.explosions.obtain().set(playerShip));
+            if (playerShip.die()) level.state = Level.State.LOSE;
+            collidingEnemy = findEnemyAt(playerShip.getX(), playerShip.getY());
+        }
+    }
+
+    /**
+     * Finds the entity hit by a projectile at a given point.  Enemies take precedence over the
+     * boss.
+     * @param  x  x coordinate of the projectile.
+     * @param  y  y coordinate of the projectile.
+     * @param  boss  The boss, or null if it hasn't appeared.
+     * @return  The enemy or boss that was hit, or null if there was none.
+     */
+    private AbstractEntity findTarget(float x, float y, Boss boss) {
+        broadphase.queryPoint(x, y, collisionCandidates);
+        AbstractEntity bossHit = null;
+        for (AbstractEntity candidate : collisionCandidates) {
+            if (!candidate.hit(x, y)) continue;
+            if (candidate == boss) {
+                bossHit = candidate;
+            } else {
+                return candidate;
+            }
+        }
+        return bossHit;
+    }
+
+    /**
+     * Finds an enemy whose hit region contains a given point.
+     * @param  x  x coordinate of interest.
+     * @param  y  y coordinate of interest.
+     * @return  The first such enemy, or null if there was none.
+     */
+    private EnemyShip findEnemyAt(float x, float y) {
+        broadphase.queryPoint(x, y, collisionCandidates);
+        for (AbstractEntity candidate : collisionCandidates) {
+            if (candidate.getType() == AbstractEntity.EntityType.ENEMY_SHIP && candidate.hit(x, y)) {
+                return (EnemyShip) candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Destroys an enemy, removing it from the broadphase and spawning an explosion.
+     * @param  enemy  Enemy to be destroyed.
+     */
+    private void killEnemy(EnemyShip enemy) {
+        broadphase.remove(enemy);
+        getEngine().removeEntity(enemy.getEcsEntity());
+        level.addEntity(EntityPools.instance.explosions.obtain().set(enemy));
+    }
+}
@@ -0,0 +1,211 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.Powerup;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+
+/**
+ * Generates an endless level from a seed.  Enemies come in waves that share a movement and firing
+ * pattern; waves get closer together, larger, faster and more aggressive over the first
+ * ENDLESS_RAMP_SECONDS of play.  Spawns are only generated a small fixed window ahead of the level,
+ * into ring buffers, so memory and per-frame cost stay flat however long the level runs.  The same
+ * seed always generates the same level, including after a restart.
+ */
+public class EndlessSpawnSource implements SpawnSource {
+
+    private static final EnemyShip.MovementPatterns[] MOVE_PATTERNS = EnemyShip.MovementPatterns.values();
+    private static final EnemyShip.MovePhaseDuration[] PHASE_DURATIONS = EnemyShip.MovePhaseDuration.values();
+    //The enums below are ordered from easiest to hardest.
+    private static final EnemyShip.Speed[] SPEEDS = EnemyShip.Speed.values();
+    private static final EnemyShip.FiringPattern[] FIRING_PATTERNS = EnemyShip.FiringPattern.values();
+    private static final EnemyShip.FireRate[] FIRE_RATES = EnemyShip.FireRate.values();
+    private static final Powerup.PowerupType[] POWERUP_TYPES = Powerup.PowerupType.values();
+
+    private final long seed;
+    private final RandomXS128 random;
+
+    private final SpawnRing<EnemySpawn> enemies;
+    private final SpawnRing<PowerupSpawn> powerups;
+    //Kept as doubles so that gaps don't lose precision once the level is far below y = 0.
+    private double nextWaveY;
+    private double nextPowerupY;
+
+    public EndlessSpawnSource(long seed) {
+        this.seed = seed;
+        random = new RandomXS128();
+        enemies = new SpawnRing<EnemySpawn>(GameplayConstants.ENDLESS_ENEMY_WINDOW);
+        powerups = new SpawnRing<PowerupSpawn>(GameplayConstants.ENDLESS_POWERUP_WINDOW);
+        restart();
+    }
+
+    @Override
+    public EnemySpawn peekEnemy() {
+        if (enemies.isEmpty()) generateWaves();
+        return enemies.peek();
+    }
+
+    @Override
+    public EnemySpawn pollEnemy() {
+        if (enemies.isEmpty()) generateWaves();
+        return enemies.poll();
+    }
+
+    @Override
+    public PowerupSpawn peekPowerup() {
+        if (powerups.isEmpty()) generatePowerups();
+        return powerups.peek();
+    }
+
+    @Override
+    public PowerupSpawn pollPowerup() {
+        if (powerups.isEmpty()) generatePowerups();
+        return powerups.poll();
+    }
+
+    @Override
+    public boolean hasBoss() {
+        return false;
+    }
+
+    /**
+     * Reseeds the generator, so the level starts over exactly as before.
+     */
+    @Override
+    public void restart() {
+        random.setSeed(seed);
+        enemies.clear();
+        powerups.clear();
+        nextWaveY = GameplayConstants.INIT_LEVEL_Y - GameplayConstants.WORLD_HEIGHT / 2;
+        nextPowerupY = GameplayConstants.INIT_LEVEL_Y - GameplayConstants.ENDLESS_POWERUP_GAP;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Fills the enemy ring with whole waves.
+     */
+    private void generateWaves() {
+        int maxWaveSize = GameplayConstants.ENDLESS_MAX_WAVE_SIZE;
+        while (enemies.size() + maxWaveSize <= enemies.capacity()) {
+            float difficulty = difficultyAt(nextWaveY);
+            int waveSize = 1 + pickTier(maxWaveSize, difficulty);
+            EnemyShip.MovementPatterns movePattern = MOVE_PATTERNS[random.nextInt(MOVE_PATTERNS.length)];
+            EnemyShip.MovePhaseDuration phaseDuration = PHASE_DURATIONS[random.nextInt(PHASE_DURATIONS.length)];
+            EnemyShip.Speed speed = SPEEDS[pickTier(SPEEDS.length, difficulty)];
+            EnemyShip.FiringPattern firingPattern = FIRING_PATTERNS[pickTier(FIRING_PATTERNS.length, difficulty)];
+            EnemyShip.FireRate fireRate = FIRE_RATES[pickTier(FIRE_RATES.length, difficulty)];
+
+            //Ships in a wave are spread evenly across a random span of the screen.
+            float margin = GameplayConstants.ENDLESS_SPAWN_MARGIN;
+            float span = (waveSize - 1) * GameplayConstants.ENEMY_SHIP_WIDTH * 1.5f;
+            float left = MathUtils.lerp(margin, GameplayConstants.WORLD_WIDTH - margin - span, random.nextFloat());
+            float spacing = (waveSize > 1) ? span / (waveSize - 1) : 0;
+            for (int i = 0; i < waveSize; i++) {
+                enemies.add(new EnemySpawn(
+                        left + i * spacing,
+                        (float) nextWaveY,
+                        movePattern,
+                        phaseDuration,
+                        speed,
+                        firingPattern,
+                        fireRate
+                ));
+            }
+
+            float gap = MathUtils.lerp(
+                    GameplayConstants.ENDLESS_ENEMY_GAP_EASY,
+                    GameplayConstants.ENDLESS_ENEMY_GAP_HARD,
+                    difficulty
+            );
+            nextWaveY -= gap * (0.5f + random.nextFloat());
+        }
+    }
+
+    private void generatePowerups() {
+        while (powerups.size() < powerups.capacity()) {
+            float margin = GameplayConstants.ENDLESS_SPAWN_MARGIN;
+            powerups.add(new PowerupSpawn(
+                    MathUtils.lerp(margin, GameplayConstants.WORLD_WIDTH - margin, random.nextFloat()),
+                    (float) nextPowerupY,
+                    POWERUP_TYPES[random.nextInt(POWERUP_TYPES.length)]
+            ));
+            nextPowerupY -= GameplayConstants.ENDLESS_POWERUP_GAP * (0.75f + random.nextFloat() / 2);
+        }
+    }
+
+    /**
+     * @param  y  Level height of a spawn.
+     * @return  Difficulty from 0 at the start of the level to 1 once the ramp is over.
+     */
+    private static float difficultyAt(double y) {
+        double seconds = (GameplayConstants.INIT_LEVEL_Y - y) / GameplayConstants.LEVEL_ASCENT_SPEED;
+        return (float) Math.min(1, seconds / GameplayConstants.ENDLESS_RAMP_SECONDS);
+    }
+
+    /**
+     * Picks an index into values ordered from easiest to hardest.  At difficulty 0 this is always
+     * the easiest, at difficulty 1 all of them are equally likely.
+     */
+    private int pickTier(int count, float difficulty) {
+        int tier = (int) (random.nextFloat() * (1 + difficulty * (count - 1)));
+        return Math.min(tier, count - 1);
+    }
+
+    /**
+     * Fixed-capacity FIFO of generated spawns.
+     */
+    private static class SpawnRing<T> {
+
+        private final Object[] items;
+        private int head;
+        private int size;
+
+        SpawnRing(int capacity) {
+            items = new Object[capacity];
+        }
+
+        int capacity() {
+            return items.length;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(T item) {
+            items[(head + size) % items.length] = item;
+            size++;
+        }
+
+        @SuppressWarnings("unchecked")
+        T peek() {
+            return (size == 0) ? null : (T) items[head];
+        }
+
+        T poll() {
+            T item = peek();
+            items[head] = null;
+            head = (head + 1) % items.length;
+            size--;
+            return item;
+        }
+
+        void clear() {
+            for (int i = 0; i < items.length; i++) {
+                items[i] = null;
+            }
+            head = 0;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.udacity.gamedev.spacekerfuffle.entities.ProjectileSink;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ActorComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ShooterComponent;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
+
+/**
+ * Lets every shooter (player, enemies, boss) fire its projectiles for this frame into the level's
+ * ProjectileSink.
+ */
+public class FiringSystem extends IteratingSystem {
+
+    public static final int PRIORITY = 1;
+
+    private static final ComponentMapper<ActorComponent> ACTORS = ComponentMapper.getFor(ActorComponent.class);
+    private final ProjectileSink sink;
+
+    public FiringSystem(ProjectileSink sink) {
+        super(Family.all(ActorComponent.class, ShooterComponent.class).get(), PRIORITY);
+        this.sink = sink;
+    }
+
+    @Override
+    public void update(float delta) {
+        FrameProfiler.instance.begin(FrameProfiler.Phase.PROJECTILE_HARVEST);
+        super.update(delta);
+        FrameProfiler.instance.end(FrameProfiler.Phase.PROJECTILE_HARVEST);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float delta) {
+        if (entity.isScheduledForRemoval()) return;
+        ACTORS.get(entity).actor.emitProjectiles(sink);
+    }
+}
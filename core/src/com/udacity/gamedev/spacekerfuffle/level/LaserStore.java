@@ -0,0 +1,168 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.udacity.gamedev.spacekerfuffle.entities.Laser;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
+
+/**
+ * Holds every laser in the level in parallel primitive arrays rather than as entity objects.
+ * Velocity is worked out once when a laser is fired, so updating is a single pass over the arrays
+ * that also culls lasers that have left the screen.  Removal swaps the last laser into the freed
+ * slot, so indices are not stable: loops that remove lasers must revisit the current index.
+ */
+public class LaserStore {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final Laser.LaserType[] LASER_TYPES = Laser.LaserType.values();
+
+    private float[] x;
+    private float[] y;
+    private float[] velocityX;
+    private float[] velocityY;
+    private float[] rotation;
+    private byte[] type;
+    private boolean[] playerLaser;
+    private int size;
+
+    public LaserStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Adds a laser.
+     * @param  x  Starting x-coordinate.
+     * @param  y  Starting y-coordinate.
+     * @param  headingX  x component of the direction of travel (any length).
+     * @param  headingY  y component of the direction of travel (any length).
+     * @param  playerLaser  True for lasers fired by the player, false for enemy lasers.
+     * @param  type  Appearance of the laser.
+     */
+    public void add(float x, float y, float headingX, float headingY, boolean playerLaser, Laser.LaserType type) {
+        if (size == this.x.length) allocate(size * 2);
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        float length = (float) Math.sqrt(headingX * headingX + headingY * headingY);
+        if (length == 0) {
+            //Matches AbstractEntity, where a zero heading means the object doesn't move.
+            velocityX[i] = 0;
+            velocityY[i] = 0;
+        } else {
+            float speed = Laser.getSpeed(playerLaser);
+            velocityX[i] = headingX / length * speed;
+            velocityY[i] = headingY / length * speed;
+        }
+        rotation[i] = MathUtils.atan2(headingY, headingX) * MathUtils.radiansToDegrees - 90;
+        this.type[i] = (byte) type.ordinal();
+        this.playerLaser[i] = playerLaser;
+    }
+
+    /**
+     * Moves every laser and removes those that have left the world.
+     * @param  delta  Seconds since last frame as float.
+     * @param  worldWidth  Width of the visible world.
+     * @param  worldHeight  Height of the visible world.
+     */
+    public void update(float delta, float worldWidth, float worldHeight) {
+        float halfWidth = Laser.getWidth() / 2;
+        float halfHeight = Laser.getHeight() / 2;
+        float minX = -halfWidth;
+        float maxX = worldWidth + halfWidth;
+        float minY = -halfHeight;
+        float maxY = worldHeight + halfHeight;
+        int i = 0;
+        while (i < size) {
+            float newX = x[i] + velocityX[i] * delta;
+            float newY = y[i] + velocityY[i] * delta;
+            if (newX < minX || newX > maxX || newY < minY || newY > maxY) {
+                remove(i);
+                continue;
+            }
+            x[i] = newX;
+            y[i] = newY;
+            i++;
+        }
+    }
+
+    /**
+     * Queues every laser in the LASERS layer.
+     * @param  queue  Queue to draw the lasers with.
+     */
+    public void render(RenderQueue queue) {
+        float width = Laser.getWidth();
+        float height = Laser.getHeight();
+        for (int i = 0; i < size; i++) {
+            queue.draw(
+                    RenderQueue.Layer.LASERS,
+                    LASER_TYPES[type[i]].getTextureRegion(),
+                    x[i] - width / 2,
+                    y[i] - height / 2,
+                    width / 2,
+                    height / 2,
+                    width,
+                    height,
+                    rotation[i],
+                    false
+            );
+        }
+    }
+
+    /**
+     * Removes the laser at an index by moving the last laser into its place.
+     * @param  index  Index of the laser to remove.
+     */
+    public void remove(int index) {
+        int last = --size;
+        if (index == last) return;
+        x[index] = x[last];
+        y[index] = y[last];
+        velocityX[index] = velocityX[last];
+        velocityY[index] = velocityY[last];
+        rotation[index] = rotation[last];
+        type[index] = type[last];
+        playerLaser[index] = playerLaser[last];
+    }
+
+    /**
+     * Removes all lasers.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() { return size; }
+
+    public float getX(int index) { return x[index]; }
+
+    public float getY(int index) { return y[index]; }
+
+    public boolean isPlayerLaser(int index) { return playerLaser[index]; }
+
+    public Laser.LaserType getLaserType(int index) { return LASER_TYPES[type[index]]; }
+
+    /**
+     * Resizes all arrays, keeping the current lasers.
+     * @param  capacity  New capacity, at least the current size.
+     */
+    private void allocate(int capacity) {
+        x = resize(x, capacity);
+        y = resize(y, capacity);
+        velocityX = resize(velocityX, capacity);
+        velocityY = resize(velocityY, capacity);
+        rotation = resize(rotation, capacity);
+        byte[] newType = new byte[capacity];
+        boolean[] newPlayerLaser = new boolean[capacity];
+        if (type != null) {
+            System.arraycopy(type, 0, newType, 0, size);
+            System.arraycopy(playerLaser, 0, newPlayerLaser, 0, size);
+        }
+        type = newType;
+        playerLaser = newPlayerLaser;
+    }
+
+    private float[] resize(float[] array, int capacity) {
+        float[] newArray = new float[capacity];
+        if (array != null) System.arraycopy(array, 0, newArray, 0, size);
+        return newArray;
+    }
+}
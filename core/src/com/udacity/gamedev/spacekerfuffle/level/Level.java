@@ -1,262 +1,170 @@
 package com.udacity.gamedev.spacekerfuffle.level;
 
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
 import com.udacity.gamedev.spacekerfuffle.entities.Boss;
+import com.udacity.gamedev.spacekerfuffle.entities.BossScript;
 import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
-import com.udacity.gamedev.spacekerfuffle.entities.Explosion;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.EntityPools;
 import com.udacity.gamedev.spacekerfuffle.entities.Laser;
-import com.udacity.gamedev.spacekerfuffle.entities.Missile;
-import com.udacity.gamedev.spacekerfuffle.entities.MissileExplosion;
 import com.udacity.gamedev.spacekerfuffle.entities.PlayerShip;
 import com.udacity.gamedev.spacekerfuffle.entities.Powerup;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.ProjectileSink;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ActorComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.EnemyComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.MissileComponent;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
-import com.udacity.gamedev.spacekerfuffle.util.Utilities;
-
-import java.util.ArrayList;
-import java.util.Iterator;
+import com.udacity.gamedev.spacekerfuffle.util.Assets;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
+import com.udacity.gamedev.spacekerfuffle.util.GameClock;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
 
 /**
- * Manages/updates/renders all game objects in level and handles collision detection.
+ * Manages the game objects in the level: spawns enemies, powerups and the boss as the level
+ * ascends, and runs the Ashley engine whose systems move, fire, expire, collide and render them.
  */
 public class Level {
 
     public static final String LOG_TAG = Level.class.getName();
 
+    private static final ComponentMapper<ActorComponent> ACTORS = ComponentMapper.getFor(ActorComponent.class);
+
     //Score variable represents score from things like enemy kills.  Total score also depends on
     //time since level start.
     public int score;
     public State state;
 
-    private Array<AbstractEntity> entities;
+    //Holds every entity except lasers.  Adds and removals made while the engine is updating are
+    //applied after the current system finishes.  Ashley removes by searching its arrays, so removal
+    //grows with the entity count; lasers, by far the most numerous, stay in the LaserStore instead.
+    private Engine engine;
+    private CollisionSystem collisionSystem;
+    private RenderSystem renderSystem;
+    private ImmutableArray<Entity> enemies;
+    private ImmutableArray<Entity> playerMissiles;
 
     public PlayerShip playerShip;
-    private Array<Laser> playerLasers;
-    private Array<Missile> playerMissiles;
 
-    private ArrayList<EnemyShip> enemiesToSpawn;
-    private Array<EnemyShip> enemies;
-    private Array<Laser> enemyLasers;
+    //Spawns are read highest y first as the level ascends; entities are only taken from the pools
+    //once their spawn is reached.
+    private SpawnSource spawnSource;
 
     private Boss boss;
 
-    private ArrayList<Powerup> powerupsToSpawn;
-    private Array<Powerup> powerups;
-
-    private Array<Explosion> explosions;
-    private Array<MissileExplosion> missileExplosions;
+    //Lasers of both sides, kept out of the engine.
+    private LaserStore lasers;
 
-    private long levelTime;
+    private GameClock clock;
+    private double levelStartTime;
     private float levelTopHeight;
 
     private Viewport viewport;
 
-    public Level(Viewport viewport, ArrayList<EnemyShip> enemiesToSpawn, ArrayList<Powerup> powerupsToSpawn) {
+    private ProjectileSink projectileSink;
+
+    public Level(Viewport viewport, LevelTemplate template) {
+        this(viewport, new TemplateSpawnSource(template));
+    }
+
+    public Level(Viewport viewport, SpawnSource spawnSource) {
         this.viewport = viewport;
-        this.enemiesToSpawn = enemiesToSpawn;
-        this.powerupsToSpawn = powerupsToSpawn;
+        this.spawnSource = spawnSource;
+        clock = new GameClock();
+        lasers = new LaserStore();
+        projectileSink = new LevelProjectileSink();
+        initEngine();
         init();
     }
 
     /**
-     * Renders all objects in the level.
-     * @param  batch  Batch to render objects with.
+     * Creates the engine and its systems.
      */
-    public void render(Batch batch){
-        if (state != State.PLAYING) return;
+    private void initEngine() {
+        engine = new ProfiledEngine();
+        collisionSystem = new CollisionSystem(this, new SpatialHashGrid(
+                GameplayConstants.WORLD_WIDTH,
+                GameplayConstants.WORLD_HEIGHT,
+                GameplayConstants.COLLISION_CELL_SIZE
+        ));
+        renderSystem = new RenderSystem();
+        engine.addSystem(new MovementSystem(viewport, lasers));
+        engine.addSystem(new FiringSystem(projectileSink));
+        engine.addSystem(new TimerSystem(clock));
+        engine.addSystem(new LifetimeSystem(this, clock));
+        engine.addSystem(collisionSystem);
+        engine.addSystem(renderSystem);
+        engine.addEntityListener(new PoolingListener());
+        enemies = engine.getEntitiesFor(Family.all(EnemyComponent.class).get());
+        playerMissiles = engine.getEntitiesFor(Family.all(MissileComponent.class).get());
+    }
 
-        for (AbstractEntity entity : entities) {
-            entity.render(batch);
-        }
+    /**
+     * Queues all objects in the level for rendering.
+     * @param  queue  Queue to render objects with.
+     */
+    public void render(RenderQueue queue){
+        if (state != State.PLAYING || !Assets.instance.isRenderingEnabled()) return;
+
+        lasers.render(queue);
+        renderSystem.render(queue);
     }
 
     /**
-     * Update state of all objects currently in the level.
-     * @param  delta  Seconds since last frame as float.
+     * Advance the level clock and update state of all objects currently in the level.
+     * @param  delta  Seconds since last frame as float.  Scaled by the clock's time scale, and
+     *                ignored while the clock is paused.
      */
     public void update(float delta) {
         if (state != State.PLAYING) return;
+        delta = clock.tick(delta);
+        if (clock.isPaused()) return;
 
+        //Spawning is timed in two parts, so that the boss still joins before this frame's update.
+        FrameProfiler.instance.begin(FrameProfiler.Phase.SPAWNING);
         float elapsedSeconds = secondsSinceStart();
-        Array<AbstractEntity> entitiesToRemove = new Array<AbstractEntity>();
 
         levelTopHeight = GameplayConstants.INIT_LEVEL_Y - elapsedSeconds * GameplayConstants.LEVEL_ASCENT_SPEED;
         if (boss == null
-                //Comment below line to skip to boss at level start.
+                && spawnSource.hasBoss()
+                //seekToHeight(0) skips to the boss.
                 && levelTopHeight < 0
                 ) {
-            boss = new Boss(viewport.getWorldWidth() / 2, viewport.getWorldHeight(), viewport, playerShip);
+            boss = new Boss(viewport.getWorldWidth() / 2, viewport.getWorldHeight(), viewport, playerShip,
+                    BossScript.get(GameplayConstants.BOSS_SCRIPT_FILEPATH));
             addEntity(boss);
         }
+        FrameProfiler.instance.end(FrameProfiler.Phase.SPAWNING);
 
-        for (Iterator<AbstractEntity> iterator = entities.iterator(); iterator.hasNext(); ) {
-            AbstractEntity entity = iterator.next();
-            entity.update(delta);
-            if (entity.offScreen(viewport)) {
-                entitiesToRemove.add(entity);
-                iterator.remove();
-                removeEntity(entity, false);
-            }
-        }
-
-        if (boss != null) {
-            addLasers(boss.getLasers(), false);
-        }
-
-        addLasers(playerShip.getLasers(), true);
-        for (Missile missile : playerShip.getMissiles()) {
-            addEntity(missile);
-        }
-
-        for (EnemyShip enemy : enemies) {
-            addLasers(enemy.getLasers(playerShip), false);
-        }
-
-        for (Iterator<Explosion> iterator = explosions.iterator(); iterator.hasNext(); ) {
-            Explosion explosion = iterator.next();
-            if (explosion.isOver()) {
-                entitiesToRemove.add(explosion);
-                iterator.remove();
-            }
-        }
-
-        for (Iterator<MissileExplosion> iterator = missileExplosions.iterator(); iterator.hasNext(); ) {
-            MissileExplosion missileExplosion = iterator.next();
-            if (missileExplosion.isOver()) {
-                entitiesToRemove.add(missileExplosion);
-                iterator.remove();
-                score += missileExplosion.bonusPoints();
-            }
-        }
-
-        detectCollisions(entitiesToRemove);
-
-        entities.removeAll(entitiesToRemove, true);
+        engine.update(delta);
 
+        FrameProfiler.instance.begin(FrameProfiler.Phase.SPAWNING);
         spawnEnemies();
         spawnPowerups();
+        FrameProfiler.instance.end(FrameProfiler.Phase.SPAWNING);
     }
 
     /**
-     * Detect collisions between projectiles and ships, destroy objects & spawn explosions as
-     * necessary.
-     * @param entitiesToRemove  Array to store entities that should be removed from the game.
-     */
-    private void detectCollisions(Array<AbstractEntity> entitiesToRemove) {
-
-        LaserLoop:
-        for (Iterator<Laser> pLaserIterator = playerLasers.iterator(); pLaserIterator.hasNext(); ) {
-            Laser laser = pLaserIterator.next();
-            for (Iterator<EnemyShip> enemyIterator = enemies.iterator(); enemyIterator.hasNext(); ) {
-                EnemyShip enemy = enemyIterator.next();
-                if (enemy.hit(laser.getX(), laser.getY())) {
-                    entitiesToRemove.add(enemy);
-                    enemyIterator.remove();
-                    entitiesToRemove.add(laser);
-                    pLaserIterator.remove();
-                    addEntity(new Explosion(enemy));
-                    score += GameplayConstants.SCORE_ENEMY_KILL_ADDITION;
-                    continue LaserLoop;
-                }
-            }
-            if (boss != null && boss.hit(laser.getX(), laser.getY())) {
-                boolean partKilled = boss.takeDamage(laser.getX(), laser.getY());
-                if (partKilled) checkForWin();
-                entitiesToRemove.add(laser);
-                pLaserIterator.remove();
-            }
-        }
-
-
-        MissileLoop:
-        for (Iterator<Missile> missileIterator = playerMissiles.iterator(); missileIterator.hasNext(); ) {
-            Missile missile = missileIterator.next();
-            for(Iterator<EnemyShip> enemyIterator = enemies.iterator(); enemyIterator.hasNext(); ) {
-                EnemyShip enemy = enemyIterator.next();
-                if (enemy.hit(missile.getX(), missile.getY())) {
-                    entitiesToRemove.add(enemy);
-                    enemyIterator.remove();
-                    entitiesToRemove.add(missile);
-                    missileIterator.remove();
-                    addEntity(new Explosion(enemy));
-                    addEntity(new MissileExplosion(missile));
-                    score += GameplayConstants.SCORE_ENEMY_KILL_ADDITION;
-                    continue MissileLoop;
-                }
-            }
-            if (boss != null && boss.hit(missile.getX(), missile.getY())) {
-                //Missiles deal double damage to boss, so takeDamage() is called twice.
-                boolean partKilled = boss.takeDamage(missile.getX(), missile.getY());
-                partKilled = boss.takeDamage(missile.getX(), missile.getY()) || partKilled;
-                if (partKilled) checkForWin();
-                entitiesToRemove.add(missile);
-                missileIterator.remove();
-                addEntity(new MissileExplosion(missile));
-            }
-        }
-
-        for (Iterator<Laser> eLaserIterator = enemyLasers.iterator(); eLaserIterator.hasNext(); ) {
-            Laser laser = eLaserIterator.next();
-            if (playerShip.hit(laser.getX(), laser.getY())) {
-                entitiesToRemove.add(laser);
-                eLaserIterator.remove();
-                score -= GameplayConstants.SCORE_DEATH_DEDUCTION;
-                addEntity(new Explosion(playerShip));
-                if (playerShip.die()) {
-                    state = State.LOSE;
-                }
-            }
-        }
-
-        for (Iterator<Powerup> powerupIterator = powerups.iterator(); powerupIterator.hasNext(); ) {
-            Powerup powerup = powerupIterator.next();
-            if (playerShip.hit(powerup.getX(), powerup.getY())) {
-                powerup.apply(playerShip);
-                entitiesToRemove.add(powerup);
-                powerupIterator.remove();
-                score += GameplayConstants.SCORE_POWERUP_ADDITION;
-            }
-        }
-        for (MissileExplosion missileExplosion : missileExplosions) {
-            for (Iterator<EnemyShip> enemyIterator = enemies.iterator(); enemyIterator.hasNext(); ) {
-                EnemyShip enemy = enemyIterator.next();
-                if (missileExplosion.consume(enemy)) {
-                    entitiesToRemove.add(enemy);
-                    enemyIterator.remove();
-                    addEntity(new Explosion(enemy));
-                    score += GameplayConstants.SCORE_ENEMY_KILL_ADDITION;
-                }
-            }
-        }
-
-        for (Iterator<EnemyShip> enemyIterator = enemies.iterator(); enemyIterator.hasNext(); ) {
-            EnemyShip enemy = enemyIterator.next();
-            if (enemy.hit(playerShip.getX(), playerShip.getY())) {
-                entitiesToRemove.add(enemy);
-                enemyIterator.remove();
-                addEntity(new Explosion(enemy));
-                addEntity(new Explosion(playerShip));
-                if (playerShip.die()) state = State.LOSE;
-            }
-        }
-    }
-
-    /**
-     * Check enemiesToSpawn array to see if level has ascended to the point where new enemies should
+     * Check the spawn source to see if level has ascended to the point where new enemies should
      * appear and create them.
      */
     private void spawnEnemies() {
-        while (true) {
-            int lastIndex = enemiesToSpawn.size() - 1;
-            if (lastIndex < 0) return;
-            if (enemiesToSpawn.get(lastIndex).getY() < levelTopHeight) break;
-            EnemyShip enemy = enemiesToSpawn.remove(lastIndex);
-            enemy.setPosition(enemy.getX(), viewport.getWorldHeight());
-            enemy.init();
+        EnemySpawn spawn;
+        while ((spawn = spawnSource.peekEnemy()) != null && spawn.y >= levelTopHeight) {
+            spawnSource.pollEnemy();
+            EnemyShip enemy = EntityPools.instance.enemyShips.obtain().set(spawn);
+            enemy.setPosition(spawn.x, viewport.getWorldHeight());
+            enemy.setTarget(playerShip);
+            enemy.setProjectileSink(projectileSink);
             addEntity(enemy);
         }
     }
@@ -265,23 +173,21 @@ public class Level {
      * Same as spawnEnemies() but for new powerups.
      */
     private void spawnPowerups() {
-        while (true) {
-            int lastIndex = powerupsToSpawn.size() - 1;
-            if (lastIndex < 0) return;
-            if (powerupsToSpawn.get(lastIndex).getY() < levelTopHeight) break;
-            Powerup powerup = powerupsToSpawn.remove(lastIndex);
-            powerup.setPosition(powerup.getX(), viewport.getWorldHeight());
-            powerup.init();
+        PowerupSpawn spawn;
+        while ((spawn = spawnSource.peekPowerup()) != null && spawn.y >= levelTopHeight) {
+            spawnSource.pollPowerup();
+            Powerup powerup = EntityPools.instance.powerups.obtain().set(spawn);
+            powerup.setPosition(spawn.x, viewport.getWorldHeight());
             addEntity(powerup);
         }
     }
 
     /**
-     * Checks to see if boss is dead and updates game state if so.  Called when a piece of the boss
-     * is killed.
+     * Checks to see if boss is dead and updates game state if so.  Called by the CollisionSystem
+     * when a piece of the boss is killed.
      */
-    private void checkForWin() {
-        if (boss != null && boss.phase == Boss.Phase.DEAD) {
+    void checkForWin() {
+        if (boss != null && boss.isDead()) {
             state = State.WIN;
             score += GameplayConstants.SCORE_BOSS_KILL_ADDITION;
         }
@@ -289,117 +195,156 @@ public class Level {
     }
 
     /**
-     * Initialize level state.
+     * Initialize level state.  Also used to restart the level, which sends the spawn source back to
+     * the top of the level.
      */
     public void init() {
+        start();
         score = 0;
-        state = State.PLAYING;
-        levelTime = TimeUtils.nanoTime();
-        levelTopHeight = GameplayConstants.INIT_LEVEL_Y;
-        entities = new Array<AbstractEntity>();
         playerShip = new PlayerShip(viewport);
         addEntity(playerShip);
-        enemies = new Array<EnemyShip>();
-        playerLasers = new Array<Laser>();
-        enemyLasers = new Array<Laser>();
-        playerMissiles = new Array<Missile>();
-        powerups = new Array<Powerup>();
-        explosions = new Array<Explosion>();
-        missileExplosions = new Array<MissileExplosion>();
+        EntityPools.instance.logStats();
         Gdx.app.log(LOG_TAG, "Level initialized.");
     }
 
     /**
-     * Adds an entity to the scene, inserting it in the general AbstractEntity array and the array
-     * for that entity type.
-     * @param entity   Entity to be added.
+     * Starts over on a different level, e.g. going back to the first level of the sequence.
+     * @param  spawnSource  Spawns of the level to play.
+     */
+    public void init(SpawnSource spawnSource) {
+        this.spawnSource = spawnSource;
+        init();
+    }
+
+    /**
+     * Moves on to the next level of a sequence after a win.  Unlike init(), the score and the
+     * player's lives and missiles carry over.
+     * @param  spawnSource  Spawns of the next level.
      */
-    private void addEntity(AbstractEntity entity) {
-        entities.add(entity);
-        try {
-            switch (entity.getType()) {
-                case PLAYER:
-                case BOSS:
-                default:
-                    return;
-                case ENEMY_SHIP:
-                    enemies.add((EnemyShip) entity);
-                    break;
-                case PLAYER_LASER:
-                    playerLasers.add((Laser) entity);
-                    break;
-                case ENEMY_LASER:
-                    enemyLasers.add((Laser) entity);
-                    break;
-                case MISSILE:
-                    playerMissiles.add((Missile) entity);
-                    break;
-                case POWERUP:
-                    powerups.add((Powerup) entity);
-                    break;
-                case EXPLOSION:
-                    explosions.add((Explosion) entity);
-                    break;
-                case MISSILE_EXPLOSION:
-                    missileExplosions.add((MissileExplosion) entity);
-                    break;
-            }
-        } catch(Error e) {
-            Gdx.app.log(LOG_TAG, "Attempted to add entity with incompatible type.");
+    public void advance(SpawnSource spawnSource) {
+        this.spawnSource = spawnSource;
+        start();
+        //The player keeps the clock, which has just been reset, so only its timers need restarting.
+        playerShip.init(false);
+        engine.addEntity(playerShip.getEcsEntity());
+        Gdx.app.log(LOG_TAG, "Advanced to next level.");
+    }
+
+    /**
+     * Jumps to a point in the level without simulating the frames in between, e.g. for QA,
+     * benchmarks or practice.  The level starts over, then every enemy and powerup that would be
+     * on screen at that point is placed directly from its spawn record: enemy positions come from
+     * their movement tables and powerups drift at a constant speed.  The player, score and lives
+     * are kept, as with advance().  Lasers in flight aren't recreated.  If the boss would have
+     * appeared by then, it appears now and makes its entrance.
+     * @param  seconds  Seconds since the start of the level.
+     */
+    public void seek(float seconds) {
+        seconds = Math.max(0, seconds);
+        start();
+        playerShip.init(false);
+        engine.addEntity(playerShip.getEcsEntity());
+        levelStartTime = clock.now() - seconds;
+        levelTopHeight = GameplayConstants.INIT_LEVEL_Y - seconds * GameplayConstants.LEVEL_ASCENT_SPEED;
+
+        int enemyCount = 0;
+        EnemySpawn enemySpawn;
+        while ((enemySpawn = spawnSource.peekEnemy()) != null && enemySpawn.y >= levelTopHeight) {
+            spawnSource.pollEnemy();
+            EnemyShip enemy = EntityPools.instance.enemyShips.obtain().set(enemySpawn);
+            enemy.setPosition(enemySpawn.x, viewport.getWorldHeight());
+            enemy.setTarget(playerShip);
+            enemy.setProjectileSink(projectileSink);
+            if (addEntity(enemy, secondsSince(enemySpawn.y, seconds))) enemyCount++;
+        }
+        PowerupSpawn powerupSpawn;
+        while ((powerupSpawn = spawnSource.peekPowerup()) != null && powerupSpawn.y >= levelTopHeight) {
+            spawnSource.pollPowerup();
+            Powerup powerup = EntityPools.instance.powerups.obtain().set(powerupSpawn);
+            powerup.setPosition(powerupSpawn.x, viewport.getWorldHeight());
+            addEntity(powerup, secondsSince(powerupSpawn.y, seconds));
+        }
+        if (levelTopHeight < 0 && spawnSource.hasBoss()) {
+            boss = new Boss(viewport.getWorldWidth() / 2, viewport.getWorldHeight(), viewport, playerShip,
+                    BossScript.get(GameplayConstants.BOSS_SCRIPT_FILEPATH));
+            addEntity(boss);
         }
+        Gdx.app.log(LOG_TAG, "Seeked to " + seconds + " s, " + enemyCount + " enemies on screen.");
+    }
+
+    /**
+     * Same as seek(), but to the point where the top of the screen reaches a height in the level.
+     * @param  height  Level height, e.g. the y of a spawn in the level file, or 0 for the boss.
+     */
+    public void seekToHeight(float height) {
+        seek((GameplayConstants.INIT_LEVEL_Y - height) / GameplayConstants.LEVEL_ASCENT_SPEED);
+    }
+
+    /**
+     * Seconds between the level reaching a spawn and a given time.
+     * @param  spawnY  Level height of the spawn.
+     * @param  seconds  Seconds since the start of the level.
+     */
+    private static float secondsSince(float spawnY, float seconds) {
+        float spawnSeconds = (GameplayConstants.INIT_LEVEL_Y - spawnY) / GameplayConstants.LEVEL_ASCENT_SPEED;
+        return Math.max(0, seconds - spawnSeconds);
     }
 
     /**
-     * Removes an entity from the scene.
-     * @param entity  Entity to be removed.
-     * @param removeFromGeneralArray  Boolean value: whether to remove from general abstract entity
-     *                                array, or only from the typed array for that entity type.
+     * Clears the level and sends the clock and spawn source back to the top of the level.
      */
-    private void removeEntity(AbstractEntity entity, boolean removeFromGeneralArray) {
-        if (removeFromGeneralArray) entities.removeValue(entity, true);
-        try {
-            switch (entity.getType()) {
-                case PLAYER:
-                case BOSS:
-                default:
-                    return;
-                case ENEMY_SHIP:
-                    enemies.removeValue((EnemyShip) entity, true);
-                    break;
-                case PLAYER_LASER:
-                    playerLasers.removeValue((Laser) entity, true);
-                    break;
-                case ENEMY_LASER:
-                    enemyLasers.removeValue((Laser) entity, true);
-                    break;
-                case MISSILE:
-                    playerMissiles.removeValue((Missile) entity, true);
-                    break;
-                case POWERUP:
-                    powerups.removeValue((Powerup) entity, true);
-                    break;
-                case EXPLOSION:
-                    explosions.removeValue((Explosion) entity, true);
-                    break;
-                case MISSILE_EXPLOSION:
-                    missileExplosions.removeValue((MissileExplosion) entity, true);
-                    break;
-            }
-        } catch(Error e) {
-            Gdx.app.log(LOG_TAG, "Attempted to add entity with incompatible type.");
+    private void start() {
+        //Returns pooled entities left over from a previous run of the level.
+        engine.removeAllEntities();
+        state = State.PLAYING;
+        clock.reset();
+        levelStartTime = clock.now();
+        levelTopHeight = GameplayConstants.INIT_LEVEL_Y;
+        boss = null;
+        spawnSource.restart();
+        //Loaded now rather than when the boss appears, so that it doesn't stall that frame.
+        if (spawnSource.hasBoss()) BossScript.get(GameplayConstants.BOSS_SCRIPT_FILEPATH);
+        lasers.clear();
+    }
+
+    /**
+     * Adds an entity to the scene, giving it the level clock and initializing it right away.  If
+     * the engine is updating, the entity joins the engine once the current system finishes.
+     * Package-private so that systems can spawn explosions and benchmarks can set up scenes of a
+     * given density.
+     * @param entity   Entity to be added.
+     */
+    void addEntity(AbstractEntity entity) {
+        entity.setClock(clock);
+        entity.init();
+        engine.addEntity(entity.getEcsEntity());
+    }
+
+    /**
+     * Adds an entity as if it had spawned some time ago, see seek().  Pooled entities that would
+     * already have left the screen go straight back to their pool instead.
+     * @param  entity  Entity to be added.
+     * @param  age  Seconds since the entity would have spawned.
+     * @return  true if the entity was added.
+     */
+    private boolean addEntity(AbstractEntity entity, float age) {
+        entity.setClock(clock);
+        entity.init(age);
+        if (entity.leftScreen(viewport)) {
+            EntityPools.instance.free(entity);
+            return false;
         }
+        engine.addEntity(entity.getEcsEntity());
+        return true;
     }
 
     /**
-     * Adds a collection of lasers to the game, as given by enemies/the player.
-     * @param lasers  Array of lasers to add.
-     * @param playerLaser  Boolean determining identity of lasers: true for player lasers, false for
-     *                     enemy lasers.
+     * Replaces the broadphase used for collision detection, e.g. with a BruteForceBroadphase to
+     * check the results of the default SpatialHashGrid.
+     * @param  broadphase  Broadphase to use from the next frame on.
      */
-    private void addLasers(Array<Laser> lasers, boolean playerLaser) {
-        Array<Laser> levelLasers = (playerLaser) ? playerLasers : enemyLasers;
-        levelLasers.addAll(lasers);
-        entities.addAll(lasers);
+    public void setBroadphase(Broadphase broadphase) {
+        collisionSystem.setBroadphase(broadphase);
     }
 
     /**
@@ -407,7 +352,127 @@ public class Level {
      * @return  Seconds since level start as float.
      */
     public float secondsSinceStart() {
-        return Utilities.secondsSince(levelTime);
+        return clock.secondsSince(levelStartTime);
+    }
+
+    /**
+     * Gets the number of entities currently in the level, including the player but not lasers.
+     * @return  Entity count.
+     */
+    public int getEntityCount() {
+        return engine.getEntities().size();
+    }
+
+    /**
+     * Gets the number of enemy ships currently in the level.
+     * @return  Enemy count.
+     */
+    public int getEnemyCount() {
+        return enemies.size();
+    }
+
+    /**
+     * Gets the number of lasers and missiles currently in the level.
+     * @return  Projectile count.
+     */
+    public int getProjectileCount() {
+        return lasers.size() + playerMissiles.size();
+    }
+
+    /**
+     * Whether the level has reached the end and the boss has appeared.
+     * @return  true once the boss has spawned.
+     */
+    public boolean isBossSpawned() {
+        return boss != null;
+    }
+
+    /**
+     * Gets the boss.
+     * @return  The boss, or null if it hasn't appeared yet.
+     */
+    Boss getBoss() {
+        return boss;
+    }
+
+    /**
+     * Gets the store holding the level's lasers.  Package-private so that systems and benchmarks
+     * can reach it.
+     * @return  The level's LaserStore.
+     */
+    LaserStore getLasers() {
+        return lasers;
+    }
+
+    /**
+     * Gets the sink that the level's shooters fire into.  Package-private so that benchmarks can
+     * give it to the enemies they add.
+     * @return  The level's ProjectileSink.
+     */
+    ProjectileSink getProjectileSink() {
+        return projectileSink;
+    }
+
+    /**
+     * Gets the level's Ashley engine.  Package-private so that benchmarks can run single systems.
+     * @return  The level's Engine.
+     */
+    Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Gets the level's clock, e.g. to pause the level or change its time scale.
+     * @return  The GameClock all entities in this level read time from.
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * ProjectileSink handed to every shooter each frame.  Lasers go straight into the LaserStore,
+     * missiles are taken from the entity pool and added to the level directly.
+     */
+    private class LevelProjectileSink implements ProjectileSink {
+
+        @Override
+        public void fireLaser(float x, float y, float headingX, float headingY, boolean playerLaser, Laser.LaserType type) {
+            lasers.add(x, y, headingX, headingY, playerLaser, type);
+        }
+
+        @Override
+        public void fireMissile(float x, float y, Vector2 heading) {
+            addEntity(EntityPools.instance.missiles.obtain().set(x, y, heading));
+        }
+    }
+
+    /**
+     * Engine that times entity removal as the REMOVAL phase.  Ashley removes entities between
+     * systems rather than within them, and removing one takes it out of the engine's and its
+     * families' arrays and notifies the listeners, which return it to its pool.
+     */
+    private static class ProfiledEngine extends Engine {
+
+        @Override
+        protected void removeEntityInternal(Entity entity) {
+            FrameProfiler.instance.begin(FrameProfiler.Phase.REMOVAL);
+            super.removeEntityInternal(entity);
+            FrameProfiler.instance.end(FrameProfiler.Phase.REMOVAL);
+        }
+    }
+
+    /**
+     * Returns pooled entities to their pools once the engine has removed them.
+     */
+    private static class PoolingListener implements EntityListener {
+
+        @Override
+        public void entityAdded(Entity entity) {}
+
+        @Override
+        public void entityRemoved(Entity entity) {
+            EntityPools.instance.free(ACTORS.get(entity).actor);
+        }
     }
 
     public enum State {
@@ -1,57 +1,178 @@
 package com.udacity.gamedev.spacekerfuffle.level;
 
-import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 import com.badlogic.gdx.utils.viewport.Viewport;
-import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
 import com.udacity.gamedev.spacekerfuffle.util.Assets;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
 
 /**
- * Class for rendering starfield background.
+ * Class for rendering starfield background.  The starfield is a set of layers, one per StarSpeed,
+ * each an endless vertical strip of chunks.  A chunk's stars are a pure function of the seed, the
+ * layer and the chunk's column and row, so chunks are generated as they scroll into view and
+ * returned to a pool as they scroll out, and a resize only generates the chunks it exposes.  Stars
+ * are kept in the chunks' flat arrays rather than as objects of their own.
+ *
+ * Static stars never change between resizes, so they are put into a SpriteCache and drawn with
+ * renderStatic(); moving stars are queued in the STARS layer each frame.  With
+ * setShaderStarfield(true), the moving stars are instead drawn by a ShaderStarfield, which scrolls
+ * them on the GPU so that they cost nothing per star on the CPU either.
  */
 public class LevelBackground {
 
+    //How far stars are kept past the edges of the screen, so that they never pop in or out.
+    private static final float MARGIN = GameplayConstants.STAR_WIDTH_LARGE;
+    private static final StarSpeed[] SPEEDS = StarSpeed.values();
+
     private Viewport viewport;
     private Density density;
-    private Array<Star> stars;
+    private boolean shaderStarfieldRequested;
+    //Latched from shaderStarfieldRequested by createStarfield(), so the two paths never mix.
+    private boolean useShaderStarfield;
+    private final long seed;
+    private final RandomXS128 random;
+    //Stars generated per chunk before they are sorted into layers.
+    private int staticStarsPerChunk;
+    private int movingStarsPerChunk;
+    private boolean starfieldCreated;
+    //Indexed by StarSpeed ordinal, STATIC first.
+    private final StarLayer[] layers;
+    private final Pool<StarChunk> chunkPool;
+
+    //Created on first renderStatic(), since building it needs a GL context.
+    private SpriteCache staticCache;
+    private int staticCacheCapacity;
+    private int staticCacheId;
+    //Set when the static stars have changed since the cache was last built.
+    private boolean staticCacheDirty;
+    private ShaderStarfield shaderStarfield;
+    //Chunk rows and columns of each moving layer in the shader starfield.  Its stars repeat every
+    //shaderRows rows.
+    private int shaderRows;
+    private int shaderColumns;
+    //Set when the moving stars have changed since they were last put into shaderStarfield.
+    private boolean shaderStarfieldDirty;
 
     public LevelBackground(Viewport viewport) {
+        this(viewport, MathUtils.random.nextLong());
+    }
+
+    /**
+     * @param  viewport  Viewport the starfield covers.
+     * @param  seed  Seed the starfield is generated from.  The same seed always gives the same stars.
+     */
+    public LevelBackground(Viewport viewport, long seed) {
         this.viewport = viewport;
+        this.seed = seed;
         density = Density.LOW;
+        random = new RandomXS128();
+        layers = new StarLayer[SPEEDS.length];
+        for (StarSpeed speed : SPEEDS) {
+            layers[speed.ordinal()] = new StarLayer(speed);
+        }
+        chunkPool = new Pool<StarChunk>() {
+            @Override
+            protected StarChunk newObject() {
+                return new StarChunk();
+            }
+        };
+        shaderStarfield = new ShaderStarfield();
     }
 
     /**
-     * Renders the level background.
-     * @param  batch  Batch to render background stars with.
+     * Renders the static stars from their SpriteCache, rebuilding it first if they have changed
+     * since the last call, and the moving stars too if the shader starfield is used.  Must be
+     * called outside of any Batch's begin() and end(), before the RenderQueue is rendered so that
+     * queued moving stars are drawn on top.
+     * @param  projection  Projection matrix to draw with, normally the camera's combined matrix.
      */
-    public void render(Batch batch) {
-        for (Star star : stars) {
-            star.render(batch);
+    public void renderStatic(Matrix4 projection) {
+        if (staticCacheDirty) buildStaticCache();
+        staticCache.setProjectionMatrix(projection);
+        //Unlike SpriteBatch, SpriteCache leaves blending to the caller.
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        staticCache.begin();
+        staticCache.draw(staticCacheId);
+        staticCache.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        if (useShaderStarfield) {
+            if (shaderStarfieldDirty) buildShaderStarfield();
+            shaderStarfield.render(projection);
         }
     }
 
     /**
-     * Update position of background stars based on time since last frame.
+     * Queues the moving stars of the level background.  Static stars, and moving stars when the
+     * shader starfield is used, are drawn by renderStatic().
+     * @param  queue  Queue to render background stars with.
+     */
+    public void render(RenderQueue queue) {
+        for (int i = 1; i < layers.length; i++) {
+            StarLayer layer = layers[i];
+            for (StarChunk chunk : layer.chunks) {
+                float chunkX = chunk.column * GameplayConstants.STAR_CHUNK_WIDTH;
+                float chunkY = (float) (chunk.row * GameplayConstants.STAR_CHUNK_HEIGHT - layer.scroll);
+                for (int star = 0; star < chunk.count; star++) {
+                    StarType type = chunk.types[star];
+                    float size = getSize(type);
+                    queue.draw(
+                            RenderQueue.Layer.STARS,
+                            getTextureRegion(type),
+                            chunkX + chunk.x[star] - size / 2,
+                            chunkY + chunk.y[star] - size / 2,
+                            size,
+                            size
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Scrolls the moving layers based on time since last frame, loading chunks that come into view
+     * and releasing those that leave it.
      * @param  delta  Seconds since last frame as float.
      */
     public void update(float delta) {
-        for (Star star : stars) {
-            if (star.speed != StarSpeed.STATIC) {
-                star.update(delta);
-            }
-            if (star.offScreen(viewport)) {
-                stars.removeValue(star, true);
-                stars.add(createRandomStar(false, true));
-            }
+        if (useShaderStarfield) {
+            shaderStarfield.update(delta);
+            return;
         }
+        for (int i = 1; i < layers.length; i++) {
+            StarLayer layer = layers[i];
+            layer.scroll += getSpeed(layer.speed) * delta;
+            loadVisibleChunks(layer);
+        }
+    }
+
+    /**
+     * Sets the density of the starfield.  Takes effect the next time the starfield is created.
+     * @param  density  Density from Density enum.
+     */
+    public void setDensity(Density density) {
+        this.density = density;
     }
 
     /**
-     * Creates the background starfield.
+     * Chooses whether moving stars are scrolled by a shader or updated and drawn one by one.  Takes
+     * effect the next time the starfield is created.
+     * @param  useShaderStarfield  True to draw moving stars with a ShaderStarfield.
+     */
+    public void setShaderStarfield(boolean useShaderStarfield) {
+        shaderStarfieldRequested = useShaderStarfield;
+    }
+
+    /**
+     * Creates the background starfield, discarding any chunks generated with the previous settings.
      */
     public void createStarfield() {
         float densityFactor;
@@ -66,123 +187,301 @@ public class LevelBackground {
                 densityFactor = GameplayConstants.HIGH_STAR_DENSITY_FACTOR;
                 break;
         }
-        int starCount = (int) ((viewport.getWorldWidth() + viewport.getWorldHeight()) * densityFactor);
-        stars = new Array<Star>(starCount);
-        for (int i = 0; i < 2 * starCount / 3; i++) {
-            stars.add(createRandomStar(true, false));
+        int starsPerChunk = (int) ((GameplayConstants.STAR_CHUNK_WIDTH + GameplayConstants.STAR_CHUNK_HEIGHT) * densityFactor);
+        staticStarsPerChunk = 2 * starsPerChunk / 3;
+        movingStarsPerChunk = starsPerChunk / 3;
+        for (StarLayer layer : layers) {
+            chunkPool.freeAll(layer.chunks);
+            layer.chunks.clear();
+            layer.columns = 0;
+            layer.scroll = 0;
+        }
+        useShaderStarfield = shaderStarfieldRequested;
+        shaderRows = 0;
+        shaderColumns = 0;
+        starfieldCreated = true;
+        loadVisibleArea();
+    }
 
+    /**
+     * Adjusts starfield when viewport is resized.  Chunks that are still in view are kept, so only
+     * the newly exposed area is generated.  Creates the starfield if it hasn't been yet.
+     */
+    public void resizeUpdate() {
+        if (starfieldCreated) {
+            loadVisibleArea();
+        } else {
+            createStarfield();
         }
-        for (int i = 0; i < starCount / 3; i++) {
-            stars.add(createRandomStar(false, false));
+    }
+
+    /**
+     * Releases the static star cache and the shader starfield's mesh and shader.
+     */
+    public void dispose() {
+        if (staticCache != null) {
+            staticCache.dispose();
+            staticCache = null;
         }
+        shaderStarfield.dispose();
     }
 
     /**
-     * Creates a randomized Star object based on parameters defined in GameplayConstants class.
-     * @param  isStatic  True if Star should be stationary, false if it should move.
-     * @param  atTop  True is Star should spawn at the top of the screen, false if y coordinate
-     *                should be randomized.
-     * @return  new Star object.
+     * Loads the chunks of every layer that the viewport shows.
      */
-    public Star createRandomStar(boolean isStatic, boolean atTop) {
-        StarType type;
-        StarSpeed speed;
-        float x;
-        float y;
-        float starSeed = MathUtils.random();
-        if (starSeed < GameplayConstants.WHITE_STAR_PERCENTAGE) {
-            type = StarType.SMALL_WHITE;
-        } else if (starSeed < GameplayConstants.WHITE_STAR_PERCENTAGE + GameplayConstants.YELLOW_STAR_PERCENTAGE) {
-            type = StarType.MEDIUM_YELLOW;
-        } else if (starSeed > 1 - GameplayConstants.RED_STAR_PERCENTAGE) {
-            type = StarType.LARGE_RED;
-        } else {
-            //Should be impossible.
-            type = StarType.SMALL_WHITE;
+    private void loadVisibleArea() {
+        if (loadVisibleChunks(layers[StarSpeed.STATIC.ordinal()])) {
+            staticCacheDirty = true;
         }
-        if (isStatic) {
-            speed = StarSpeed.STATIC;
+        if (useShaderStarfield) {
+            int rows = MathUtils.ceil((viewport.getWorldHeight() + 2 * MARGIN) / GameplayConstants.STAR_CHUNK_HEIGHT);
+            int columns = getVisibleColumns();
+            if (rows != shaderRows || columns != shaderColumns) {
+                shaderRows = rows;
+                shaderColumns = columns;
+                shaderStarfieldDirty = true;
+            }
         } else {
-            if (type == StarType.SMALL_WHITE) {
-                speed = (MathUtils.random(1) == 0) ? StarSpeed.FAST : StarSpeed.MEDIUM;
-            } else {
-                speed = (MathUtils.random(1) == 0) ? StarSpeed.MEDIUM : StarSpeed.SLOW;
+            for (int i = 1; i < layers.length; i++) {
+                loadVisibleChunks(layers[i]);
             }
         }
-        x = MathUtils.random(viewport.getWorldWidth());
-        y = (atTop) ? viewport.getWorldHeight() : MathUtils.random(viewport.getWorldHeight());
-        return new Star(new Vector2(x, y), type, speed);
     }
 
     /**
-     * Adjusts starfield when viewport is resized.  At the moment, whole starfield is regenerated
-     * rather than current starfield being somehow modified.
+     * Brings a layer's chunks in line with the rows and columns that its scroll position and the
+     * viewport put on screen, generating new chunks and releasing old ones.
+     * @return  true if any chunk was loaded or released.
      */
-    public void resizeUpdate() {
-        createStarfield();
+    private boolean loadVisibleChunks(StarLayer layer) {
+        float chunkHeight = GameplayConstants.STAR_CHUNK_HEIGHT;
+        //Static stars never cross the edge of the screen, so they need no margin.
+        float margin = (layer.speed == StarSpeed.STATIC) ? 0 : MARGIN;
+        int firstRow = (int) Math.floor((layer.scroll - margin) / chunkHeight);
+        int lastRow = (int) Math.ceil((layer.scroll + viewport.getWorldHeight() + margin) / chunkHeight) - 1;
+        int columns = getVisibleColumns();
+        if (firstRow == layer.firstRow && lastRow == layer.lastRow && columns == layer.columns) {
+            return false;
+        }
+        Array<StarChunk> chunks = layer.chunks;
+        for (int i = chunks.size - 1; i >= 0; i--) {
+            StarChunk chunk = chunks.get(i);
+            if (chunk.row < firstRow || chunk.row > lastRow || chunk.column >= columns) {
+                chunks.removeIndex(i);
+                chunkPool.free(chunk);
+            }
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (row >= layer.firstRow && row <= layer.lastRow && column < layer.columns) continue;
+                StarChunk chunk = chunkPool.obtain();
+                generateChunk(chunk, layer.speed, column, row);
+                chunks.add(chunk);
+            }
+        }
+        layer.firstRow = firstRow;
+        layer.lastRow = lastRow;
+        layer.columns = columns;
+        return true;
+    }
+
+    private int getVisibleColumns() {
+        return Math.max(1, MathUtils.ceil(viewport.getWorldWidth() / GameplayConstants.STAR_CHUNK_WIDTH));
     }
 
     /**
-     * Class representing individual background stars.  They can have three different shapes and
-     * sizes.
+     * Fills a chunk with the stars of one layer.  Every layer of a chunk draws from the same
+     * distribution of star types and speeds as the original one-off starfield and keeps the stars
+     * that belong to it, so each layer gets its share.
      */
-    private class Star extends AbstractEntity {
-
-        StarType type;
-        StarSpeed speed;
-
-        public Star(Vector2 position, StarType _type, StarSpeed _speed) {
-            setPosition(position.x, position.y);
-            type = _type;
-            speed = _speed;
-            heading = new Vector2(GameplayConstants.SOUTH);
-            init();
+    private void generateChunk(StarChunk chunk, StarSpeed speed, int column, int row) {
+        long chunkSeed = seed;
+        chunkSeed = chunkSeed * 0x9E3779B97F4A7C15L + speed.ordinal();
+        chunkSeed = chunkSeed * 0x9E3779B97F4A7C15L + column;
+        chunkSeed = chunkSeed * 0x9E3779B97F4A7C15L + row;
+        random.setSeed(chunkSeed);
+        boolean isStatic = speed == StarSpeed.STATIC;
+        int candidates = isStatic ? staticStarsPerChunk : movingStarsPerChunk;
+        chunk.reset(column, row, candidates);
+        for (int i = 0; i < candidates; i++) {
+            StarType type;
+            StarSpeed starSpeed;
+            float starSeed = random.nextFloat();
+            if (starSeed < GameplayConstants.WHITE_STAR_PERCENTAGE) {
+                type = StarType.SMALL_WHITE;
+            } else if (starSeed < GameplayConstants.WHITE_STAR_PERCENTAGE + GameplayConstants.YELLOW_STAR_PERCENTAGE) {
+                type = StarType.MEDIUM_YELLOW;
+            } else if (starSeed > 1 - GameplayConstants.RED_STAR_PERCENTAGE) {
+                type = StarType.LARGE_RED;
+            } else {
+                //Should be impossible.
+                type = StarType.SMALL_WHITE;
+            }
+            if (isStatic) {
+                starSpeed = StarSpeed.STATIC;
+            } else if (type == StarType.SMALL_WHITE) {
+                starSpeed = random.nextBoolean() ? StarSpeed.FAST : StarSpeed.MEDIUM;
+            } else {
+                starSpeed = random.nextBoolean() ? StarSpeed.MEDIUM : StarSpeed.SLOW;
+            }
+            float x = random.nextFloat() * GameplayConstants.STAR_CHUNK_WIDTH;
+            float y = random.nextFloat() * GameplayConstants.STAR_CHUNK_HEIGHT;
+            if (starSpeed == speed) chunk.add(type, x, y);
         }
+    }
 
-        @Override
-        public float getSpeed() {
-            switch (speed) {
-                case STATIC: default:
-                    return 0;
-                case SLOW:
-                    return GameplayConstants.STAR_SPEED_SLOW;
-                case MEDIUM:
-                    return GameplayConstants.STAR_SPEED_MEDIUM;
-                case FAST:
-                    return GameplayConstants.STAR_SPEED_FAST;
+    /**
+     * Puts the static stars into the SpriteCache, replacing its previous contents.  The cache is
+     * only recreated if the starfield has grown past its capacity.
+     */
+    private void buildStaticCache() {
+        Array<StarChunk> chunks = layers[StarSpeed.STATIC.ordinal()].chunks;
+        int starCount = 0;
+        for (StarChunk chunk : chunks) {
+            starCount += chunk.count;
+        }
+        if (staticCache != null && staticCacheCapacity < starCount) {
+            staticCache.dispose();
+            staticCache = null;
+        }
+        if (staticCache == null) {
+            staticCacheCapacity = Math.max(starCount, 1);
+            staticCache = new SpriteCache(staticCacheCapacity, false);
+        } else {
+            staticCache.clear();
+        }
+        staticCache.beginCache();
+        for (StarChunk chunk : chunks) {
+            float chunkX = chunk.column * GameplayConstants.STAR_CHUNK_WIDTH;
+            float chunkY = chunk.row * GameplayConstants.STAR_CHUNK_HEIGHT;
+            for (int star = 0; star < chunk.count; star++) {
+                StarType type = chunk.types[star];
+                float size = getSize(type);
+                staticCache.add(getTextureRegion(type), chunkX + chunk.x[star] - size / 2,
+                        chunkY + chunk.y[star] - size / 2, size, size);
             }
         }
+        staticCacheId = staticCache.endCache();
+        staticCacheDirty = false;
+    }
 
-        @Override
-        public float getWidth() {
-            switch (type) {
-                case SMALL_WHITE:
-                    return GameplayConstants.STAR_WIDTH_SMALL;
-                case MEDIUM_YELLOW:
-                    return GameplayConstants.STAR_WIDTH_MEDIUM;
-                case LARGE_RED:
-                    return GameplayConstants.STAR_WIDTH_LARGE;
-                default:
-                    return 0;
+    /**
+     * Hands the first shaderRows rows of every moving layer to the shader starfield, which wraps
+     * them around from then on.  Like the static cache this waits for the first render, since star
+     * textures aren't loaded when running without rendering.
+     */
+    private void buildShaderStarfield() {
+        //Each candidate star lands in exactly one moving layer on average, but the layers are
+        //generated independently, so this is only an upper bound.
+        shaderStarfield.begin(shaderRows * shaderColumns * movingStarsPerChunk * (SPEEDS.length - 1));
+        StarChunk chunk = chunkPool.obtain();
+        for (int i = 1; i < layers.length; i++) {
+            StarSpeed speed = layers[i].speed;
+            for (int row = 0; row < shaderRows; row++) {
+                for (int column = 0; column < shaderColumns; column++) {
+                    generateChunk(chunk, speed, column, row);
+                    float chunkX = column * GameplayConstants.STAR_CHUNK_WIDTH;
+                    float chunkY = row * GameplayConstants.STAR_CHUNK_HEIGHT;
+                    for (int star = 0; star < chunk.count; star++) {
+                        StarType type = chunk.types[star];
+                        shaderStarfield.add(getTextureRegion(type), chunkX + chunk.x[star],
+                                chunkY + chunk.y[star], getSize(type), getSpeed(speed));
+                    }
+                }
             }
         }
+        chunkPool.free(chunk);
+        shaderStarfield.end(shaderRows * GameplayConstants.STAR_CHUNK_HEIGHT, MARGIN);
+        shaderStarfieldDirty = false;
+    }
 
-        @Override
-        public float getHeight() {
-            return getWidth();
+    private static float getSpeed(StarSpeed speed) {
+        switch (speed) {
+            case STATIC: default:
+                return 0;
+            case SLOW:
+                return GameplayConstants.STAR_SPEED_SLOW;
+            case MEDIUM:
+                return GameplayConstants.STAR_SPEED_MEDIUM;
+            case FAST:
+                return GameplayConstants.STAR_SPEED_FAST;
         }
+    }
+
+    private static float getSize(StarType type) {
+        switch (type) {
+            case SMALL_WHITE:
+                return GameplayConstants.STAR_WIDTH_SMALL;
+            case MEDIUM_YELLOW:
+                return GameplayConstants.STAR_WIDTH_MEDIUM;
+            case LARGE_RED:
+                return GameplayConstants.STAR_WIDTH_LARGE;
+            default:
+                return 0;
+        }
+    }
+
+    private static TextureRegion getTextureRegion(StarType type) {
+        switch (type) {
+            case SMALL_WHITE: default:
+                return Assets.instance.otherAssets.smallWhite;
+            case MEDIUM_YELLOW:
+                return Assets.instance.otherAssets.mediumYellow;
+            case LARGE_RED:
+                return Assets.instance.otherAssets.largeRed;
+        }
+    }
+
+    /**
+     * Stars of one speed, and how far they have scrolled.
+     */
+    private static class StarLayer {
 
-        @Override
-        public TextureRegion getTextureRegion() {
-            switch (type) {
-                case SMALL_WHITE: default:
-                    return Assets.instance.otherAssets.smallWhite;
-                case MEDIUM_YELLOW:
-                    return Assets.instance.otherAssets.mediumYellow;
-                case LARGE_RED:
-                    return Assets.instance.otherAssets.largeRed;
+        final StarSpeed speed;
+        final Array<StarChunk> chunks;
+        //Distance scrolled down since the starfield was created.  Kept as a double so that chunk
+        //positions stay exact however long the game runs.
+        double scroll;
+        //Chunks loaded are rows firstRow to lastRow of columns 0 to columns - 1.
+        int firstRow;
+        int lastRow;
+        int columns;
+
+        StarLayer(StarSpeed speed) {
+            this.speed = speed;
+            chunks = new Array<StarChunk>();
+        }
+    }
+
+    /**
+     * One chunk of a layer.  Star positions are relative to the chunk's bottom left corner.
+     */
+    private static class StarChunk {
+
+        int column;
+        int row;
+        int count;
+        float[] x = new float[0];
+        float[] y = new float[0];
+        StarType[] types = new StarType[0];
+
+        void reset(int column, int row, int capacity) {
+            this.column = column;
+            this.row = row;
+            count = 0;
+            if (x.length < capacity) {
+                x = new float[capacity];
+                y = new float[capacity];
+                types = new StarType[capacity];
             }
         }
+
+        void add(StarType type, float x, float y) {
+            this.x[count] = x;
+            this.y[count] = y;
+            types[count] = type;
+            count++;
+        }
     }
 
     public enum Density {
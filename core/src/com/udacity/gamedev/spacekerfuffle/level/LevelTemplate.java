@@ -0,0 +1,52 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
+
+import java.util.List;
+
+/**
+ * Immutable spawn table for a level, loaded once (see LevelLoader) and shared by every Level
+ * played from it.  Levels read it through their own cursors rather than consuming it, so
+ * restarting a level doesn't reload anything and any number of levels can run from one copy.
+ */
+public class LevelTemplate {
+
+    public static final LevelTemplate EMPTY = new LevelTemplate(new EnemySpawn[0], new PowerupSpawn[0]);
+
+    private final EnemySpawn[] enemySpawns;
+    private final PowerupSpawn[] powerupSpawns;
+
+    /**
+     * Creates a template from spawn lists, which are copied.
+     * @param  enemySpawns  Enemy spawns sorted by ascending y.
+     * @param  powerupSpawns  Powerup spawns sorted by ascending y.
+     */
+    public LevelTemplate(List<EnemySpawn> enemySpawns, List<PowerupSpawn> powerupSpawns) {
+        this(
+                enemySpawns.toArray(new EnemySpawn[enemySpawns.size()]),
+                powerupSpawns.toArray(new PowerupSpawn[powerupSpawns.size()])
+        );
+    }
+
+    private LevelTemplate(EnemySpawn[] enemySpawns, PowerupSpawn[] powerupSpawns) {
+        this.enemySpawns = enemySpawns;
+        this.powerupSpawns = powerupSpawns;
+    }
+
+    public int getEnemyCount() { return enemySpawns.length; }
+
+    /**
+     * @param  index  Index between 0 and getEnemyCount() - 1, in ascending y order.
+     * @return  Enemy spawn at index.
+     */
+    public EnemySpawn getEnemySpawn(int index) { return enemySpawns[index]; }
+
+    public int getPowerupCount() { return powerupSpawns.length; }
+
+    /**
+     * @param  index  Index between 0 and getPowerupCount() - 1, in ascending y order.
+     * @return  Powerup spawn at index.
+     */
+    public PowerupSpawn getPowerupSpawn(int index) { return powerupSpawns[index]; }
+}
@@ -0,0 +1,104 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ActorComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.LifetimeComponent;
+import com.udacity.gamedev.spacekerfuffle.entities.components.MissileExplosionComponent;
+import com.udacity.gamedev.spacekerfuffle.util.GameClock;
+import com.udacity.gamedev.spacekerfuffle.util.TimerWheel;
+
+/**
+ * Removes entities whose lifetime has run out, such as finished explosions.  Missile explosions
+ * award their bonus points as they expire.  Rather than checking every entity each frame, an
+ * expiry timer is scheduled on the level clock as each entity joins, and the TimerSystem runs it.
+ */
+public class LifetimeSystem extends EntitySystem implements EntityListener {
+
+    public static final int PRIORITY = 2;
+
+    private static final ComponentMapper<ActorComponent> ACTORS = ComponentMapper.getFor(ActorComponent.class);
+    private static final ComponentMapper<LifetimeComponent> LIFETIMES = ComponentMapper.getFor(LifetimeComponent.class);
+    private static final ComponentMapper<MissileExplosionComponent> MISSILE_EXPLOSIONS =
+            ComponentMapper.getFor(MissileExplosionComponent.class);
+    private static final Family FAMILY = Family.all(ActorComponent.class, LifetimeComponent.class).get();
+
+    private final Level level;
+    private final GameClock clock;
+    private Engine engine;
+
+    public LifetimeSystem(Level level, GameClock clock) {
+        super(PRIORITY);
+        this.level = level;
+        this.clock = clock;
+        //Nothing to do each frame.
+        setProcessing(false);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        this.engine = engine;
+        engine.addEntityListener(FAMILY, this);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+        this.engine = null;
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        LifetimeComponent lifetime = LIFETIMES.get(entity);
+        if (lifetime.expiry == null) {
+            lifetime.expiry = new ExpiryTimer(entity);
+        }
+        //Pooled entities move between levels, so the timer is pointed at this one each time.
+        ExpiryTimer expiry = (ExpiryTimer) lifetime.expiry;
+        expiry.system = this;
+        AbstractEntity actor = ACTORS.get(entity).actor;
+        clock.schedule(expiry, lifetime.lifetime - actor.secondsSinceSpawn());
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        LIFETIMES.get(entity).expiry.cancel();
+    }
+
+    /**
+     * Removes an entity whose lifetime is up from the engine.
+     * @param  entity  Expired entity.
+     */
+    private void expire(Entity entity) {
+        if (engine == null || entity.isScheduledForRemoval()) return;
+        engine.removeEntity(entity);
+        MissileExplosionComponent missileExplosion = MISSILE_EXPLOSIONS.get(entity);
+        if (missileExplosion != null) {
+            level.score += missileExplosion.explosion.bonusPoints();
+        }
+    }
+
+    /**
+     * Expires its entity once its lifetime is up.  Created once per entity and kept in its
+     * LifetimeComponent, so pooled entities reuse it.
+     */
+    private static class ExpiryTimer extends TimerWheel.Timer {
+
+        private final Entity entity;
+        private LifetimeSystem system;
+
+        ExpiryTimer(Entity entity) {
+            this.entity = entity;
+        }
+
+        @Override
+        protected void run() {
+            system.expire(entity);
+        }
+    }
+}
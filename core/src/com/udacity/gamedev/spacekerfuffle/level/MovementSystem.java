@@ -0,0 +1,45 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ActorComponent;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
+
+/**
+ * Moves every entity and the lasers in the LaserStore, removing anything that leaves the screen.
+ */
+public class MovementSystem extends IteratingSystem {
+
+    public static final int PRIORITY = 0;
+
+    private static final ComponentMapper<ActorComponent> ACTORS = ComponentMapper.getFor(ActorComponent.class);
+    private final Viewport viewport;
+    private final LaserStore lasers;
+
+    public MovementSystem(Viewport viewport, LaserStore lasers) {
+        super(Family.all(ActorComponent.class).get(), PRIORITY);
+        this.viewport = viewport;
+        this.lasers = lasers;
+    }
+
+    @Override
+    public void update(float delta) {
+        FrameProfiler.instance.begin(FrameProfiler.Phase.ENTITY_UPDATE);
+        super.update(delta);
+        lasers.update(delta, viewport.getWorldWidth(), viewport.getWorldHeight());
+        FrameProfiler.instance.end(FrameProfiler.Phase.ENTITY_UPDATE);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float delta) {
+        AbstractEntity actor = ACTORS.get(entity).actor;
+        actor.update(delta);
+        if (actor.offScreen(viewport)) {
+            getEngine().removeEntity(entity);
+        }
+    }
+}
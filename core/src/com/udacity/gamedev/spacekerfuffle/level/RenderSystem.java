@@ -0,0 +1,41 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.udacity.gamedev.spacekerfuffle.entities.components.ActorComponent;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
+
+/**
+ * Queues every entity for drawing.  The RenderQueue sorts them into layers by type so that
+ * explosions end up on top, so entities are visited in the order they were added.  Rendering
+ * happens outside of Engine.update(), so the system is not processed by the engine and is driven
+ * by render() instead.
+ */
+public class RenderSystem extends IteratingSystem {
+
+    private static final ComponentMapper<ActorComponent> ACTORS = ComponentMapper.getFor(ActorComponent.class);
+
+    private RenderQueue queue;
+
+    public RenderSystem() {
+        super(Family.all(ActorComponent.class).get());
+        setProcessing(false);
+    }
+
+    /**
+     * Queues all entities.
+     * @param  queue  Queue to draw with.
+     */
+    public void render(RenderQueue queue) {
+        this.queue = queue;
+        update(0);
+        this.queue = null;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float delta) {
+        ACTORS.get(entity).actor.render(queue);
+    }
+}
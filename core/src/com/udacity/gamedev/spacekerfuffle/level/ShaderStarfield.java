@@ -0,0 +1,249 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Scrolling starfield drawn entirely on the GPU.  Each star's starting position, speed and texture
+ * coordinates are uploaded once into a static mesh, and the vertex shader works out where it is
+ * from a time uniform, wrapping it back to the top once it has scrolled through the wrap height,
+ * so the stars repeat every wrap height like a vertically tiled image.  Per frame the CPU only
+ * advances the time and issues one draw call, however many stars there are.
+ *
+ * Stars are added between begin() and end(), like sprites to a SpriteCache.  The mesh and shader
+ * are created on the first render(), since they need a GL context, so a starfield can be built
+ * and updated without one.  Every star must come from the same texture.
+ */
+public class ShaderStarfield {
+
+    public static final String LOG_TAG = ShaderStarfield.class.getName();
+
+    //Indices are shorts, so each mesh holds at most this many four-vertex quads.
+    public static final int MAX_STARS = Short.MAX_VALUE * 2 / 4;
+
+    //x and y at time zero, corner offset from the center, texture coordinates, speed.
+    private static final int FLOATS_PER_VERTEX = 7;
+    private static final int FLOATS_PER_STAR = FLOATS_PER_VERTEX * 4;
+
+    private static final String VERTEX_SHADER =
+            "attribute vec2 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "attribute vec2 a_offset;\n" +
+            "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+            "attribute float a_speed;\n" +
+            "uniform mat4 u_projTrans;\n" +
+            "uniform float u_time;\n" +
+            "uniform float u_wrapHeight;\n" +
+            "uniform float u_margin;\n" +
+            "varying vec2 v_texCoords;\n" +
+            "void main() {\n" +
+            "    float y = mod(" + ShaderProgram.POSITION_ATTRIBUTE + ".y - a_speed * u_time, u_wrapHeight) - u_margin;\n" +
+            "    vec2 position = vec2(" + ShaderProgram.POSITION_ATTRIBUTE + ".x, y) + a_offset;\n" +
+            "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+            "    gl_Position = u_projTrans * vec4(position, 0.0, 1.0);\n" +
+            "}\n";
+
+    private static final String FRAGMENT_SHADER =
+            "#ifdef GL_ES\n" +
+            "precision mediump float;\n" +
+            "#endif\n" +
+            "varying vec2 v_texCoords;\n" +
+            "uniform sampler2D u_texture;\n" +
+            "void main() {\n" +
+            "    gl_FragColor = texture2D(u_texture, v_texCoords);\n" +
+            "}\n";
+
+    private float[] vertices;
+    private int starCount;
+    private Texture texture;
+    //Stars are drawn from -margin to wrapHeight - margin, so with a wrap height of at least the
+    //screen height plus twice the margin they are always fully off screen when they jump.
+    private float margin;
+    private float wrapHeight;
+    //Greatest common divisor of the star speeds, rounded to whole units per second.
+    private int speedDivisor;
+    //Seconds after which every star is back where it started.  time wraps around at this so that
+    //it never grows large enough to lose precision in the shader.
+    private float loopSeconds;
+    private float time;
+
+    private Mesh mesh;
+    private int meshCapacity;
+    private ShaderProgram shader;
+    private boolean meshDirty;
+
+    /**
+     * Starts a new set of stars, discarding the current ones.
+     * @param  capacity  Number of stars that will be added, at most MAX_STARS.
+     */
+    public void begin(int capacity) {
+        capacity = Math.min(capacity, MAX_STARS);
+        if (vertices == null || vertices.length < capacity * FLOATS_PER_STAR) {
+            vertices = new float[capacity * FLOATS_PER_STAR];
+        }
+        starCount = 0;
+        texture = null;
+        speedDivisor = 0;
+    }
+
+    /**
+     * Adds a star.  Stars past the capacity given to begin() are ignored.
+     * @param  region  Star texture.
+     * @param  x  x coordinate of the star's center.
+     * @param  y  y coordinate of the star's center at time zero, plus the margin, between 0 and the
+     *            wrap height.
+     * @param  size  Width and height of the star.
+     * @param  speed  Downwards speed in world units per second.
+     */
+    public void add(TextureRegion region, float x, float y, float size, float speed) {
+        if ((starCount + 1) * FLOATS_PER_STAR > vertices.length) return;
+        if (texture == null) {
+            texture = region.getTexture();
+        } else if (texture != region.getTexture()) {
+            throw new GdxRuntimeException("Every star in a ShaderStarfield must use the same texture.");
+        }
+        float half = size / 2;
+        int i = starCount * FLOATS_PER_STAR;
+        i = putVertex(i, x, y, -half, -half, region.getU(), region.getV2(), speed);
+        i = putVertex(i, x, y, half, -half, region.getU2(), region.getV2(), speed);
+        i = putVertex(i, x, y, half, half, region.getU2(), region.getV(), speed);
+        putVertex(i, x, y, -half, half, region.getU(), region.getV(), speed);
+        speedDivisor = gcd(speedDivisor, Math.round(speed));
+        starCount++;
+    }
+
+    /**
+     * Finishes the set of stars begun by begin().  They are uploaded on the next render().  The
+     * scroll time carries over, so stars rebuilt on a resize don't all jump back to where they
+     * started.
+     * @param  wrapHeight  Height after which the stars repeat.
+     * @param  margin  Distance below the bottom of the screen at which stars wrap, at least half the
+     *                 size of the largest star.
+     */
+    public void end(float wrapHeight, float margin) {
+        this.wrapHeight = wrapHeight;
+        this.margin = margin;
+        loopSeconds = (speedDivisor > 0) ? wrapHeight / speedDivisor : 0;
+        //Every speed is a multiple of speedDivisor, so wrapping the time moves no star.
+        time = (loopSeconds > 0) ? time % loopSeconds : 0;
+        meshDirty = true;
+    }
+
+    /**
+     * Advances the scroll time.
+     * @param  delta  Seconds since last frame as float.
+     */
+    public void update(float delta) {
+        if (loopSeconds == 0) return;
+        time += delta;
+        if (time >= loopSeconds) time %= loopSeconds;
+    }
+
+    /**
+     * Draws every star with a single draw call.  Must be called outside of any Batch's begin() and
+     * end().
+     * @param  projection  Projection matrix to draw with, normally the camera's combined matrix.
+     */
+    public void render(Matrix4 projection) {
+        if (starCount == 0) return;
+        if (shader == null) createShader();
+        if (meshDirty) uploadMesh();
+        texture.bind(0);
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shader.begin();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformf("u_time", time);
+        shader.setUniformf("u_wrapHeight", wrapHeight);
+        shader.setUniformf("u_margin", margin);
+        shader.setUniformi("u_texture", 0);
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, starCount * 6);
+        shader.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    public int getStarCount() {
+        return starCount;
+    }
+
+    /**
+     * Releases the mesh and shader.  They are created again if the starfield is rendered.
+     */
+    public void dispose() {
+        if (mesh != null) {
+            mesh.dispose();
+            mesh = null;
+            meshCapacity = 0;
+            meshDirty = true;
+        }
+        if (shader != null) {
+            shader.dispose();
+            shader = null;
+        }
+    }
+
+    private int putVertex(int i, float x, float y, float offsetX, float offsetY, float u, float v, float speed) {
+        vertices[i++] = x;
+        vertices[i++] = y;
+        vertices[i++] = offsetX;
+        vertices[i++] = offsetY;
+        vertices[i++] = u;
+        vertices[i++] = v;
+        vertices[i++] = speed;
+        return i;
+    }
+
+    private void createShader() {
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Starfield shader failed to compile: " + shader.getLog());
+        }
+    }
+
+    /**
+     * Copies the stars into the mesh, which is only recreated if it is too small for them.
+     */
+    private void uploadMesh() {
+        if (mesh != null && meshCapacity < starCount) {
+            mesh.dispose();
+            mesh = null;
+        }
+        if (mesh == null) {
+            meshCapacity = starCount;
+            mesh = new Mesh(true, meshCapacity * 4, meshCapacity * 6,
+                    new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                    new VertexAttribute(Usage.Generic, 2, "a_offset"),
+                    new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"),
+                    new VertexAttribute(Usage.Generic, 1, "a_speed"));
+            short[] indices = new short[meshCapacity * 6];
+            for (int star = 0, i = 0; star < meshCapacity; star++) {
+                short first = (short) (star * 4);
+                indices[i++] = first;
+                indices[i++] = (short) (first + 1);
+                indices[i++] = (short) (first + 2);
+                indices[i++] = (short) (first + 2);
+                indices[i++] = (short) (first + 3);
+                indices[i++] = first;
+            }
+            mesh.setIndices(indices);
+        }
+        mesh.setVertices(vertices, 0, starCount * FLOATS_PER_STAR);
+        meshDirty = false;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,102 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+
+/**
+ * Broadphase that divides the world into a uniform grid of square cells and indexes each entity in
+ * every cell its hit region overlaps.  Anything outside the grid is clamped into the edge cells,
+ * so entities that are partly off screen are still found.
+ */
+public class SpatialHashGrid implements Broadphase {
+
+    private final float cellSize;
+    private final int columns;
+    private final int rows;
+    private final Array<Array<AbstractEntity>> cells;
+
+    public SpatialHashGrid(float worldWidth, float worldHeight, float cellSize) {
+        this.cellSize = cellSize;
+        columns = Math.max(1, MathUtils.ceil(worldWidth / cellSize));
+        rows = Math.max(1, MathUtils.ceil(worldHeight / cellSize));
+        cells = new Array<Array<AbstractEntity>>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new Array<AbstractEntity>(false, 8));
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Array<AbstractEntity> cell : cells) {
+            cell.clear();
+        }
+    }
+
+    @Override
+    public void insert(AbstractEntity entity) {
+        int minColumn = column(entity.getX() - entity.getHitWidth() / 2);
+        int maxColumn = column(entity.getX() + entity.getHitWidth() / 2);
+        int minRow = row(entity.getY() - entity.getHitHeight() / 2);
+        int maxRow = row(entity.getY() + entity.getHitHeight() / 2);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                cells.get(row * columns + column).add(entity);
+            }
+        }
+    }
+
+    @Override
+    public void remove(AbstractEntity entity) {
+        int minColumn = column(entity.getX() - entity.getHitWidth() / 2);
+        int maxColumn = column(entity.getX() + entity.getHitWidth() / 2);
+        int minRow = row(entity.getY() - entity.getHitHeight() / 2);
+        int maxRow = row(entity.getY() + entity.getHitHeight() / 2);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                cells.get(row * columns + column).removeValue(entity, true);
+            }
+        }
+    }
+
+    @Override
+    public void queryPoint(float x, float y, Array<AbstractEntity> results) {
+        results.clear();
+        //A point falls in exactly one cell, so no duplicate checks are needed.
+        results.addAll(cells.get(row(y) * columns + column(x)));
+    }
+
+    @Override
+    public void queryArea(float x, float y, float halfWidth, float halfHeight, Array<AbstractEntity> results) {
+        results.clear();
+        int minColumn = column(x - halfWidth);
+        int maxColumn = column(x + halfWidth);
+        int minRow = row(y - halfHeight);
+        int maxRow = row(y + halfHeight);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (AbstractEntity entity : cells.get(row * columns + column)) {
+                    if (!results.contains(entity, true)) results.add(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the column containing an x coordinate, clamped to the grid.
+     * @param  x  x coordinate of interest.
+     * @return  Column index.
+     */
+    private int column(float x) {
+        return MathUtils.clamp((int) Math.floor(x / cellSize), 0, columns - 1);
+    }
+
+    /**
+     * Gets the row containing a y coordinate, clamped to the grid.
+     * @param  y  y coordinate of interest.
+     * @return  Row index.
+     */
+    private int row(float y) {
+        return MathUtils.clamp((int) Math.floor(y / cellSize), 0, rows - 1);
+    }
+}
@@ -0,0 +1,46 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
+
+/**
+ * Supplies a Level with the enemies and powerups it spawns as it ascends, highest y first.  Spawns
+ * are only asked for as the level reaches them, so sources are free to produce them lazily.
+ */
+public interface SpawnSource {
+
+    /**
+     * Gets the next enemy to appear without consuming it.
+     * @return  Remaining enemy spawn with the highest y, or null if there are none left.
+     */
+    EnemySpawn peekEnemy();
+
+    /**
+     * Consumes the enemy returned by peekEnemy().
+     * @return  The consumed enemy spawn.
+     */
+    EnemySpawn pollEnemy();
+
+    /**
+     * Gets the next powerup to appear without consuming it.
+     * @return  Remaining powerup spawn with the highest y, or null if there are none left.
+     */
+    PowerupSpawn peekPowerup();
+
+    /**
+     * Consumes the powerup returned by peekPowerup().
+     * @return  The consumed powerup spawn.
+     */
+    PowerupSpawn pollPowerup();
+
+    /**
+     * Whether the boss appears once the level has ascended to y = 0.  Endless levels have no boss.
+     * @return  true if the level ends with the boss.
+     */
+    boolean hasBoss();
+
+    /**
+     * Starts over from the top of the level, e.g. when the level is restarted.
+     */
+    void restart();
+}
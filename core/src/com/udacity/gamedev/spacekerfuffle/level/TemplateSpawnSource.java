@@ -0,0 +1,51 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
+
+/**
+ * Reads a shared LevelTemplate from the end (highest y) through a pair of cursors.  Restarting
+ * only rewinds the cursors.
+ */
+public class TemplateSpawnSource implements SpawnSource {
+
+    private final LevelTemplate template;
+    private int nextEnemyIndex;
+    private int nextPowerupIndex;
+
+    public TemplateSpawnSource(LevelTemplate template) {
+        this.template = template;
+        restart();
+    }
+
+    @Override
+    public EnemySpawn peekEnemy() {
+        return (nextEnemyIndex >= 0) ? template.getEnemySpawn(nextEnemyIndex) : null;
+    }
+
+    @Override
+    public EnemySpawn pollEnemy() {
+        return template.getEnemySpawn(nextEnemyIndex--);
+    }
+
+    @Override
+    public PowerupSpawn peekPowerup() {
+        return (nextPowerupIndex >= 0) ? template.getPowerupSpawn(nextPowerupIndex) : null;
+    }
+
+    @Override
+    public PowerupSpawn pollPowerup() {
+        return template.getPowerupSpawn(nextPowerupIndex--);
+    }
+
+    @Override
+    public boolean hasBoss() {
+        return true;
+    }
+
+    @Override
+    public void restart() {
+        nextEnemyIndex = template.getEnemyCount() - 1;
+        nextPowerupIndex = template.getPowerupCount() - 1;
+    }
+}
@@ -0,0 +1,29 @@
+package com.udacity.gamedev.spacekerfuffle.level;
+
+import com.badlogic.ashley.core.EntitySystem;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
+import com.udacity.gamedev.spacekerfuffle.util.GameClock;
+
+/**
+ * Runs the timers that have come due on the level clock's TimerWheel: enemy shots, expiring
+ * explosions, the player's invulnerability and powerups, missiles turning upwards and the boss'
+ * behavior changes.  Runs after the FiringSystem, where enemy shots used to be polled.
+ */
+public class TimerSystem extends EntitySystem {
+
+    public static final int PRIORITY = 2;
+
+    private final GameClock clock;
+
+    public TimerSystem(GameClock clock) {
+        super(PRIORITY);
+        this.clock = clock;
+    }
+
+    @Override
+    public void update(float delta) {
+        FrameProfiler.instance.begin(FrameProfiler.Phase.TIMERS);
+        clock.getTimers().advance(clock.now());
+        FrameProfiler.instance.end(FrameProfiler.Phase.TIMERS);
+    }
+}
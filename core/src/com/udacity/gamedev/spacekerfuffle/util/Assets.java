@@ -24,11 +24,13 @@ public class Assets implements Disposable, AssetErrorListener  {
     public OtherAssets otherAssets;
 
     private AssetManager assetManager;
+    private boolean renderingEnabled;
 
     private Assets() {}
 
     public void init(AssetManager assetManager) {
         this.assetManager = assetManager;
+        renderingEnabled = true;
         assetManager.setErrorListener(this);
         assetManager.load(GameplayConstants.ATLAS_PATH, TextureAtlas.class);
         assetManager.finishLoading();
@@ -41,12 +43,48 @@ public class Assets implements Disposable, AssetErrorListener  {
 
     }
 
+    /**
+     * Initializes assets for running levels without rendering, e.g. under the headless backend
+     * where there is no GL context.  No textures are loaded and all asset groups are left null, so
+     * only simulation code may run.
+     */
+    public void initWithoutRendering() {
+        renderingEnabled = false;
+        Gdx.app.log(LOG_TAG, "Running without rendering, no assets loaded.");
+    }
+
+    /**
+     * Whether textures have been loaded and entities can be rendered.
+     * @return  false after initWithoutRendering(), true after init().
+     */
+    public boolean isRenderingEnabled() {
+        return renderingEnabled;
+    }
+
+    /**
+     * Queues a texture atlas on the AssetManager unless it's already loaded.  Loading then happens
+     * a step at a time in update().  Does nothing when running without rendering.
+     * @param  atlasPath  Path of the atlas.
+     */
+    public void queueAtlas(String atlasPath) {
+        if (assetManager == null || assetManager.isLoaded(atlasPath)) return;
+        assetManager.load(atlasPath, TextureAtlas.class);
+    }
+
+    /**
+     * Advances loading of queued assets without blocking.  Called once per frame.
+     * @return  true if nothing is left to load.
+     */
+    public boolean update() {
+        return assetManager == null || assetManager.update();
+    }
+
     public void error(AssetDescriptor asset, Throwable throwable) {
         Gdx.app.error(LOG_TAG, "Unable to load asset " + asset.fileName, throwable);
     }
 
     public void dispose() {
-        assetManager.dispose();
+        if (assetManager != null) assetManager.dispose();
     }
 
     public class PlayerShipAssets {
@@ -0,0 +1,220 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * Always-on timer for the phases of a frame.  Code brackets each phase with begin() and end(), and
+ * whoever owns the frame (GameplayScreen, or the headless runner) calls endFrame() once the frame
+ * is done.  The time spent in every phase is kept for the last WINDOW_FRAMES frames, from which
+ * min, average and 99th percentile times can be read at any point, e.g. by an overlay.  Phases
+ * that don't run during a frame count as zero for that frame.
+ */
+public class FrameProfiler {
+
+    public static final String LOG_TAG = FrameProfiler.class.getName();
+    public static final int WINDOW_FRAMES = 300;
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final float NANOS_PER_MILLI = 1000000f;
+
+    //Declared after the constants above, which the constructor reads.
+    public static final FrameProfiler instance = new FrameProfiler();
+
+    private final long[] phaseStart;
+    private final long[] currentFrame;
+    //Ring buffer of nanoseconds per phase: samples[phase][frame].
+    private final long[][] samples;
+    private final long[] sortedScratch;
+    private FileHandle exitCsvFile;
+    private int nextSample;
+    private int sampleCount;
+    private long frameCount;
+
+    private FrameProfiler() {
+        phaseStart = new long[PHASES.length];
+        currentFrame = new long[PHASES.length];
+        samples = new long[PHASES.length][WINDOW_FRAMES];
+        sortedScratch = new long[WINDOW_FRAMES];
+    }
+
+    /**
+     * Starts timing a phase.
+     * @param  phase  Phase that is starting.
+     */
+    public void begin(Phase phase) {
+        phaseStart[phase.ordinal()] = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Stops timing a phase, adding the time since begin() to the current frame.  A phase may run
+     * more than once per frame.
+     * @param  phase  Phase that has finished.
+     */
+    public void end(Phase phase) {
+        int index = phase.ordinal();
+        currentFrame[index] += TimeUtils.nanoTime() - phaseStart[index];
+    }
+
+    /**
+     * Records the current frame's phase times in the window and starts a new frame.
+     */
+    public void endFrame() {
+        for (int i = 0; i < PHASES.length; i++) {
+            samples[i][nextSample] = currentFrame[i];
+            currentFrame[i] = 0;
+        }
+        nextSample = (nextSample + 1) % WINDOW_FRAMES;
+        sampleCount = Math.min(sampleCount + 1, WINDOW_FRAMES);
+        frameCount++;
+    }
+
+    /**
+     * Discards all recorded frames.
+     */
+    public void reset() {
+        Arrays.fill(currentFrame, 0);
+        nextSample = 0;
+        sampleCount = 0;
+        frameCount = 0;
+    }
+
+    /**
+     * Gets the number of frames currently in the window.
+     * @return  Frame count, at most WINDOW_FRAMES.
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Gets the number of frames recorded since the last reset.
+     * @return  Frame count.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Gets the shortest time spent in a phase in any frame of the window.
+     * @param  phase  Phase of interest.
+     * @return  Time in milliseconds, or 0 if no frames have been recorded.
+     */
+    public float getMinMillis(Phase phase) {
+        if (sampleCount == 0) return 0;
+        long[] phaseSamples = samples[phase.ordinal()];
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < sampleCount; i++) {
+            min = Math.min(min, phaseSamples[i]);
+        }
+        return min / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Gets the average time per frame spent in a phase over the window.
+     * @param  phase  Phase of interest.
+     * @return  Time in milliseconds, or 0 if no frames have been recorded.
+     */
+    public float getAverageMillis(Phase phase) {
+        if (sampleCount == 0) return 0;
+        long[] phaseSamples = samples[phase.ordinal()];
+        long total = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            total += phaseSamples[i];
+        }
+        return total / NANOS_PER_MILLI / sampleCount;
+    }
+
+    /**
+     * Gets the time spent in a phase that a given fraction of the frames in the window stayed at
+     * or under (nearest-rank percentile).
+     * @param  phase  Phase of interest.
+     * @param  percentile  Percentile between 0 and 100, e.g. 99.
+     * @return  Time in milliseconds, or 0 if no frames have been recorded.
+     */
+    public float getPercentileMillis(Phase phase, float percentile) {
+        if (sampleCount == 0) return 0;
+        System.arraycopy(samples[phase.ordinal()], 0, sortedScratch, 0, sampleCount);
+        Arrays.sort(sortedScratch, 0, sampleCount);
+        int rank = (int) Math.ceil(percentile / 100 * sampleCount);
+        int index = Math.max(0, Math.min(sampleCount - 1, rank - 1));
+        return sortedScratch[index] / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Gets the 99th percentile time spent in a phase over the window.
+     * @param  phase  Phase of interest.
+     * @return  Time in milliseconds, or 0 if no frames have been recorded.
+     */
+    public float getP99Millis(Phase phase) {
+        return getPercentileMillis(phase, 99);
+    }
+
+    /**
+     * Builds a CSV table with a row of min/avg/p99 times for each phase.
+     * @return  CSV text including a header row.
+     */
+    public String toCsv() {
+        StringBuilder builder = new StringBuilder("phase,frames,min_ms,avg_ms,p99_ms\n");
+        for (Phase phase : PHASES) {
+            builder.append(phase.name()).append(',')
+                    .append(sampleCount).append(',')
+                    .append(getMinMillis(phase)).append(',')
+                    .append(getAverageMillis(phase)).append(',')
+                    .append(getP99Millis(phase)).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the current statistics to a file as CSV, e.g. when the application exits.  Not
+     * available on platforms without writable files, such as HTML.
+     * @param  file  File to write, replaced if it exists.
+     */
+    public void writeCsv(FileHandle file) {
+        file.writeString(toCsv(), false);
+        Gdx.app.log(LOG_TAG, "Frame timings written to " + file.path() + ".");
+    }
+
+    /**
+     * Sets a file that writeExitCsv() writes to when the application exits.
+     * @param  file  File to write, or null to write nothing on exit.
+     */
+    public void setExitCsvFile(FileHandle file) {
+        exitCsvFile = file;
+    }
+
+    /**
+     * Writes the statistics to the file given to setExitCsvFile(), if any.
+     */
+    public void writeExitCsv() {
+        if (exitCsvFile != null) writeCsv(exitCsvFile);
+    }
+
+    /**
+     * Logs min/avg/p99 times for every phase.
+     */
+    public void logStats() {
+        Gdx.app.log(LOG_TAG, "Phase timings over the last " + sampleCount + " frames (min/avg/p99 ms):");
+        for (Phase phase : PHASES) {
+            Gdx.app.log(LOG_TAG, phase.name() + ": " + getMinMillis(phase) + " / " +
+                    getAverageMillis(phase) + " / " + getP99Millis(phase));
+        }
+    }
+
+    public enum Phase {
+        ENTITY_UPDATE,
+        PROJECTILE_HARVEST,
+        REMOVAL,
+        TIMERS,
+        COLLISION,
+        SPAWNING,
+        BACKGROUND_UPDATE,
+        HUD_UPDATE,
+        WORLD_RENDER,
+        HUD_DRAW
+    }
+}
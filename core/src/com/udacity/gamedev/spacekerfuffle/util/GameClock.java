@@ -0,0 +1,115 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+/**
+ * Simulation clock owned by a Level.  Advanced once per frame by the frame delta, and read by every
+ * entity instead of the system timer, so that all entities see the same timestamp for a tick and
+ * gameplay can be paused, slowed down or sped up.  Time is kept in double precision so long
+ * sessions don't lose accuracy.  Timed events are scheduled on the clock's TimerWheel with
+ * schedule(), and run as the Level's TimerSystem advances it.
+ */
+public class GameClock {
+
+    private double time;
+    private long ticks;
+    private float timeScale;
+    private boolean paused;
+    private final TimerWheel timers = new TimerWheel(GameplayConstants.TIMER_RESOLUTION);
+
+    public GameClock() {
+        timeScale = 1;
+        reset();
+    }
+
+    /**
+     * Sets the clock back to zero and clears the tick count and any scheduled timers.  Pause state
+     * and time scale are kept.
+     */
+    public void reset() {
+        time = 0;
+        ticks = 0;
+        timers.clear();
+    }
+
+    /**
+     * Schedules a timer to run a number of seconds from now, rescheduling it if it is already
+     * waiting.
+     * @param  timer  Timer to schedule.
+     * @param  delay  Seconds of game time from now.
+     */
+    public void schedule(TimerWheel.Timer timer, float delay) {
+        timers.schedule(timer, time + delay);
+    }
+
+    /**
+     * Gets the wheel that timers are scheduled on, e.g. to schedule at an absolute time or to run
+     * the due timers.
+     * @return  The clock's TimerWheel.
+     */
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Advances the clock by one frame.  Headless runs can pass synthetic deltas as fast as they
+     * like to simulate faster than real time.
+     * @param  delta  Real seconds since last frame as float.
+     * @return  Simulated seconds this frame: delta times the time scale, or 0 if paused.
+     */
+    public float tick(float delta) {
+        if (paused) return 0;
+        float scaledDelta = delta * timeScale;
+        time += scaledDelta;
+        ticks++;
+        return scaledDelta;
+    }
+
+    /**
+     * Gets the current simulation time.
+     * @return  Seconds since the clock was reset, as of the last tick.
+     */
+    public double now() {
+        return time;
+    }
+
+    /**
+     * Returns the number of simulated seconds since a timestamp taken from now().
+     * @param  timestamp  Earlier value of now().
+     * @return  Seconds since timestamp as float.
+     */
+    public float secondsSince(double timestamp) {
+        return (float) (time - timestamp);
+    }
+
+    /**
+     * Gets the number of ticks since the clock was reset.  Paused frames don't count.
+     * @return  Tick count.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Sets the rate at which simulated time passes relative to real time: below 1 for slow motion,
+     * above 1 for fast-forward.
+     * @param  timeScale  Multiplier applied to each frame delta.
+     */
+    public void setTimeScale(float timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    public float getTimeScale() {
+        return timeScale;
+    }
+}
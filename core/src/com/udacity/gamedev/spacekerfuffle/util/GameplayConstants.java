@@ -18,6 +18,10 @@ public class GameplayConstants {
 
     public static final float INIT_LEVEL_Y = 7680;
     public static final float LEVEL_ASCENT_SPEED = 80;
+    //Cell size of the collision broadphase grid, a bit larger than an enemy ship.
+    public static final float COLLISION_CELL_SIZE = 64;
+    //Tick length of the game clock's TimerWheel, one frame at 60 fps.
+    public static final float TIMER_RESOLUTION = 1f / 60;
 
     public static final float PLAYER_SHIP_WIDTH = 50;
     public static final float PLAYER_SHIP_HEIGHT = 50;
@@ -42,6 +46,17 @@ public class GameplayConstants {
     public static final float ENEMY_PHASE_DURATION_MEDIUM = 2;
     public static final float ENEMY_PHASE_DURATION_LONG = 3;
 
+    //Endless mode: spawns are generated this many at a time ahead of the scroll position.
+    //Difficulty ramps up over ENDLESS_RAMP_SECONDS of play and then holds.
+    public static final int ENDLESS_ENEMY_WINDOW = 32;
+    public static final int ENDLESS_POWERUP_WINDOW = 4;
+    public static final float ENDLESS_RAMP_SECONDS = 600;
+    public static final float ENDLESS_ENEMY_GAP_EASY = 240;
+    public static final float ENDLESS_ENEMY_GAP_HARD = 60;
+    public static final int ENDLESS_MAX_WAVE_SIZE = 4;
+    public static final float ENDLESS_POWERUP_GAP = 1600;
+    public static final float ENDLESS_SPAWN_MARGIN = ENEMY_SHIP_WIDTH;
+
     //Boss rendering dimensions:
     public static final float BOSS_ASPECT_RATIO = 112f / 64f;
     public static final float BOSS_WIDTH = 250;
@@ -76,7 +91,6 @@ public class GameplayConstants {
     public static final float BOSS_CORE_FIRE_DELAY_SIMPLE = BOSS_ARM_FIRE_DELAY;
     public static final float BOSS_CORE_FIRE_DELAY_AIMED = BOSS_ARM_FIRE_DELAY;
     public static final float BOSS_CORE_FIRE_DELAY_SPRAY = 0.75f;
-    public static final float BOSS_CORE_FIRE_DELAY_SPRAY_FAST = 0.5f;
     public static final float BOSS_CORE_FIRE_DELAY_RAPID = 0.2f;
     public static final int BOSS_CORE_RAPID_FIRE_PERIOD = 20;
     public static final int BOSS_CORE_RAPID_FIRE_BURST_SIZE = 10;
@@ -114,6 +128,10 @@ public class GameplayConstants {
     public static final float MISSILE_EXPLOSION_HIT_HEIGHT = 100;
 
     public static final float EXPLOSION_FRAME_TIME = 0.125f;
+    //Must match the number of explosion regions in the atlas.  Explosion lifetime is derived from
+    //it rather than from the animation, so levels can run without loading textures.
+    public static final int EXPLOSION_FRAME_COUNT = 4;
+    public static final float EXPLOSION_DURATION = EXPLOSION_FRAME_TIME * EXPLOSION_FRAME_COUNT;
 
     public static final int SCORE_ENEMY_KILL_ADDITION = 500;
     public static final int SCORE_POWERUP_ADDITION = 200;
@@ -136,6 +154,14 @@ public class GameplayConstants {
     public static final String ATLAS_PATH = "images/spacekerfuffle.pack.atlas";
 
     public static final String LEVEL_JSON_FILEPATH = "level_json.json";
+    //Generated from LEVEL_JSON_FILEPATH by the headless module's compileLevel task.
+    public static final String LEVEL_BINARY_FILEPATH = "level.bin";
+    //Levels in the order they're played, as pairs of Tiled JSON and the binary spawn table compiled
+    //from it.  New levels also need adding to the compileLevel task.
+    public static final String[] LEVEL_JSON_FILEPATHS = { LEVEL_JSON_FILEPATH };
+    public static final String[] LEVEL_BINARY_FILEPATHS = { LEVEL_BINARY_FILEPATH };
+    //Phases and behaviors of the end-of-level boss, see BossScript.
+    public static final String BOSS_SCRIPT_FILEPATH = "boss.json";
 
     //Strings for fetching regions from TextureAtlas.
     public static final String PLAYER_NEUTRAL = "player";
@@ -176,5 +202,9 @@ public class GameplayConstants {
     public static final float STAR_SPEED_SLOW = 10;
     public static final float STAR_SPEED_MEDIUM = 20;
     public static final float STAR_SPEED_FAST = 50;
+    //Stars are generated in tiles of this size, so every tile holds a screen's worth at the default
+    //world size.
+    public static final float STAR_CHUNK_WIDTH = WORLD_WIDTH;
+    public static final float STAR_CHUNK_HEIGHT = WORLD_HEIGHT;
 
 }
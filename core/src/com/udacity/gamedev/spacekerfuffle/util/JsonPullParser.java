@@ -0,0 +1,287 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Minimal pull parser for JSON, reading tokens one at a time from a Reader through a small fixed
+ * buffer, so that files of any size can be walked in constant memory.  Unlike JsonReader it never
+ * builds a tree: callers ask for the next token and skip whatever they aren't interested in.  It is
+ * lenient about separators (commas and colons are only used to tell names from string values) and
+ * expects well-formed input.
+ */
+public class JsonPullParser {
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+
+    private final StringBuilder text;
+    private Token token;
+
+    public JsonPullParser(Reader reader) {
+        this.reader = reader;
+        buffer = new char[BUFFER_SIZE];
+        text = new StringBuilder();
+    }
+
+    /**
+     * Reads the next token.
+     * @return  The token, END_DOCUMENT once the input is exhausted.
+     * @throws  GdxRuntimeException  If the input can't be read or isn't JSON.
+     */
+    public Token next() {
+        int c = nextSignificant();
+        switch (c) {
+            case -1:
+                token = Token.END_DOCUMENT;
+                break;
+            case '{':
+                token = Token.START_OBJECT;
+                break;
+            case '}':
+                token = Token.END_OBJECT;
+                break;
+            case '[':
+                token = Token.START_ARRAY;
+                break;
+            case ']':
+                token = Token.END_ARRAY;
+                break;
+            case '"':
+                readString();
+                if (peekSignificant() == ':') {
+                    position++;
+                    token = Token.NAME;
+                } else {
+                    token = Token.STRING;
+                }
+                break;
+            case 't':
+                expect("rue");
+                token = Token.TRUE;
+                break;
+            case 'f':
+                expect("alse");
+                token = Token.FALSE;
+                break;
+            case 'n':
+                expect("ull");
+                token = Token.NULL;
+                break;
+            default:
+                if (c != '-' && (c < '0' || c > '9')) {
+                    throw new GdxRuntimeException("Unexpected character in JSON: " + (char) c);
+                }
+                readNumber((char) c);
+                token = Token.NUMBER;
+                break;
+        }
+        return token;
+    }
+
+    /**
+     * Gets the text of the current NAME, STRING or NUMBER token.  Only valid until next() is
+     * called again.
+     * @return  Token text.
+     */
+    public String getString() {
+        return text.toString();
+    }
+
+    /**
+     * Gets the value of the current NUMBER token.
+     * @return  Value as float.
+     */
+    public float getFloat() {
+        return Float.parseFloat(text.toString());
+    }
+
+    /**
+     * Skips the value whose first token was just read.  For START_OBJECT and START_ARRAY this
+     * skips to the matching end without building any strings; for anything else it does nothing.
+     */
+    public void skipValue() {
+        if (token != Token.START_OBJECT && token != Token.START_ARRAY) return;
+        //Scans the buffer directly rather than going through read(), since skipping whole layers
+        //of a large level is where most of the time goes.
+        int depth = 1;
+        boolean inString = false;
+        while (depth > 0) {
+            if (position == limit && peek() == -1) {
+                throw new GdxRuntimeException("Unexpected end of JSON.");
+            }
+            char[] buffer = this.buffer;
+            int i = position;
+            int end = limit;
+            while (i < end && depth > 0) {
+                char c = buffer[i++];
+                if (inString) {
+                    if (c == '"') {
+                        inString = false;
+                    } else if (c == '\\') {
+                        if (i == end) {
+                            position = i;
+                            read();
+                            i = position;
+                            end = limit;
+                        } else {
+                            i++;
+                        }
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            }
+            position = i;
+        }
+        token = (token == Token.START_OBJECT) ? Token.END_OBJECT : Token.END_ARRAY;
+    }
+
+    /**
+     * Reads tokens until a NAME token with the given text at the current object level, skipping
+     * the values of other names.  Must be called inside an object.
+     * @param  name  Name to look for.
+     * @return  true if the name was found, false if the end of the object was reached first.
+     */
+    public boolean skipToName(String name) {
+        while (true) {
+            Token next = next();
+            if (next == Token.END_OBJECT || next == Token.END_DOCUMENT) return false;
+            if (next != Token.NAME) {
+                throw new GdxRuntimeException("Expected a name in JSON object, found " + next);
+            }
+            if (text.toString().equals(name)) return true;
+            next();
+            skipValue();
+        }
+    }
+
+    /**
+     * Closes the underlying reader.
+     */
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't close JSON reader.", e);
+        }
+    }
+
+    private void readString() {
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1) throw new GdxRuntimeException("Unterminated string in JSON.");
+            if (c == '"') return;
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'b': text.append('\b'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'n': text.append('\n'); break;
+                    case 'r': text.append('\r'); break;
+                    case 't': text.append('\t'); break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            code = code * 16 + Character.digit((char) read(), 16);
+                        }
+                        text.append((char) code);
+                        break;
+                    default:
+                        text.append((char) c);
+                        break;
+                }
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    private void readNumber(char first) {
+        text.setLength(0);
+        text.append(first);
+        while (true) {
+            int c = peek();
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                text.append((char) c);
+                position++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void expect(String rest) {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) throw new GdxRuntimeException("Invalid literal in JSON.");
+        }
+    }
+
+    /**
+     * Reads the next character that isn't whitespace or a separator.
+     */
+    private int nextSignificant() {
+        while (true) {
+            int c = read();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t' && c != ',' && c != ':') return c;
+        }
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it.
+     */
+    private int peekSignificant() {
+        while (true) {
+            int c = peek();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+            position++;
+        }
+    }
+
+    private int read() {
+        int c = peek();
+        if (c != -1) position++;
+        return c;
+    }
+
+    private int peek() {
+        if (position == limit) {
+            try {
+                limit = reader.read(buffer, 0, buffer.length);
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Couldn't read JSON.", e);
+            }
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+
+    public enum Token {
+        START_OBJECT,
+        END_OBJECT,
+        START_ARRAY,
+        END_ARRAY,
+        NAME,
+        STRING,
+        NUMBER,
+        TRUE,
+        FALSE,
+        NULL,
+        END_DOCUMENT
+    }
+}
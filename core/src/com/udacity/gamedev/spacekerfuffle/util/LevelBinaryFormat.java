@@ -0,0 +1,220 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonValue;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.MovementTable;
+import com.udacity.gamedev.spacekerfuffle.entities.Powerup;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * Compact binary form of the level's spawn table, compiled from the Tiled JSON at build time (see
+ * LevelCompiler in the headless module).  All values are big-endian:
+ *
+ *   header       int magic, int version, int enemy count, int powerup count,
+ *                int description count
+ *   description  short length, ASCII characters; one per distinct move-description in the level
+ *   enemy        float x, float y, byte move pattern, byte phase duration, byte speed,
+ *                byte firing pattern, byte fire rate, 1 byte padding, short description index
+ *   powerup      float x, float y, byte powerup type, 3 bytes padding
+ *
+ * Bytes are enum ordinals.  Enemies with their own move-description have CUSTOM_MOVE_PATTERN in
+ * place of a move pattern and the index of their description; other enemies have index -1.
+ * Records are already in the order LevelJSONParser sorts them into (ascending y), so reading is a
+ * single pass with no parsing or sorting.  The version must be bumped whenever the layout or any of
+ * the enums above change.
+ */
+public class LevelBinaryFormat {
+
+    public static final int MAGIC = 0x534B4C56; //"SKLV"
+    public static final int VERSION = 2;
+
+    public static final int HEADER_SIZE = 20;
+    public static final int ENEMY_RECORD_SIZE = 16;
+    public static final int POWERUP_RECORD_SIZE = 12;
+    public static final byte CUSTOM_MOVE_PATTERN = -1;
+
+    private static final EnemyShip.MovementPatterns[] MOVE_PATTERNS = EnemyShip.MovementPatterns.values();
+    private static final EnemyShip.MovePhaseDuration[] PHASE_DURATIONS = EnemyShip.MovePhaseDuration.values();
+    private static final EnemyShip.Speed[] SPEEDS = EnemyShip.Speed.values();
+    private static final EnemyShip.FiringPattern[] FIRING_PATTERNS = EnemyShip.FiringPattern.values();
+    private static final EnemyShip.FireRate[] FIRE_RATES = EnemyShip.FireRate.values();
+    private static final Powerup.PowerupType[] POWERUP_TYPES = Powerup.PowerupType.values();
+
+    //Same order that LevelJSONParser sorts spawns into.
+    private static final Comparator<JsonValue> BY_Y = new Comparator<JsonValue>() {
+        @Override
+        public int compare(JsonValue a, JsonValue b) {
+            return (int) (a.getFloat("y") - b.getFloat("y"));
+        }
+    };
+
+    private LevelBinaryFormat() {}
+
+    /**
+     * Compiles parsed level JSON into the binary format.
+     * @param  root  Root of the Tiled level JSON.
+     * @return  Binary level data.
+     */
+    public static byte[] compile(JsonValue root) {
+        ArrayList<JsonValue> enemies = sortedObjects(LevelJSONParser.getEnemyObjects(root));
+        ArrayList<JsonValue> powerups = sortedObjects(LevelJSONParser.getPowerupObjects(root));
+        ArrayList<String> descriptions = new ArrayList<String>();
+        int descriptionBytes = 0;
+        for (JsonValue enemy : enemies) {
+            String description = LevelJSONParser.getMoveDescription(enemy.get("properties"));
+            if (description != null && !descriptions.contains(description)) {
+                //Checks the description now rather than when the level is played.
+                MovementTable.parse(description, 1);
+                descriptions.add(description);
+                descriptionBytes += 2 + description.length();
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + descriptionBytes +
+                enemies.size() * ENEMY_RECORD_SIZE + powerups.size() * POWERUP_RECORD_SIZE
+        );
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(enemies.size());
+        buffer.putInt(powerups.size());
+        buffer.putInt(descriptions.size());
+        for (String description : descriptions) {
+            buffer.putShort((short) description.length());
+            for (int i = 0; i < description.length(); i++) {
+                buffer.put((byte) description.charAt(i));
+            }
+        }
+        for (JsonValue enemy : enemies) {
+            JsonValue properties = enemy.get("properties");
+            int descriptionIndex = descriptions.indexOf(LevelJSONParser.getMoveDescription(properties));
+            buffer.putFloat(enemy.getFloat("x"));
+            buffer.putFloat(enemy.getFloat("y"));
+            buffer.put((descriptionIndex >= 0) ?
+                    CUSTOM_MOVE_PATTERN :
+                    (byte) LevelJSONParser.getMovePattern(properties).ordinal());
+            buffer.put((byte) LevelJSONParser.getPhaseDuration(properties).ordinal());
+            buffer.put((byte) LevelJSONParser.getSpeed(properties).ordinal());
+            buffer.put((byte) LevelJSONParser.getFiringPattern(properties).ordinal());
+            buffer.put((byte) LevelJSONParser.getFireRate(properties).ordinal());
+            buffer.put((byte) 0);
+            buffer.putShort((short) descriptionIndex);
+        }
+        for (JsonValue powerup : powerups) {
+            buffer.putFloat(powerup.getFloat("x"));
+            buffer.putFloat(powerup.getFloat("y"));
+            buffer.put((byte) LevelJSONParser.getPowerupType(powerup.get("properties")).ordinal());
+            buffer.position(buffer.position() + 3);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Reads binary level data into spawn records.
+     * @param  buffer  Buffer positioned at the start of the data.  Its position is advanced past it.
+     * @param  enemies  List that receives the enemy spawns, in spawn table order.
+     * @param  powerups  List that receives the powerup spawns, in spawn table order.
+     * @throws  GdxRuntimeException  If the data isn't binary level data of the current version, or
+     *                               is truncated or holds a count, length or index out of range.
+     */
+    public static void read(ByteBuffer buffer, ArrayList<EnemySpawn> enemies, ArrayList<PowerupSpawn> powerups) {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a binary level file.");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Binary level version " + version + ", expected " + VERSION + ".");
+        }
+        int enemyCount = checkCount(buffer.getInt(), "enemy");
+        int powerupCount = checkCount(buffer.getInt(), "powerup");
+        int descriptionCount = checkCount(buffer.getInt(), "description");
+        //Checked before allocating, since each description takes at least its two length bytes.
+        if (buffer.remaining() < 2L * descriptionCount) {
+            throw new GdxRuntimeException("Binary level file is truncated.");
+        }
+        String[] descriptions = new String[descriptionCount];
+        for (int i = 0; i < descriptions.length; i++) {
+            if (buffer.remaining() < 2) throw new GdxRuntimeException("Binary level file is truncated.");
+            char[] chars = new char[checkCount(buffer.getShort(), "description length")];
+            if (buffer.remaining() < chars.length) throw new GdxRuntimeException("Binary level file is truncated.");
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) buffer.get();
+            }
+            descriptions[i] = new String(chars);
+        }
+        if (buffer.remaining() < (long) enemyCount * ENEMY_RECORD_SIZE + (long) powerupCount * POWERUP_RECORD_SIZE) {
+            throw new GdxRuntimeException("Binary level file is truncated.");
+        }
+        enemies.ensureCapacity(enemies.size() + enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            float x = buffer.getFloat();
+            float y = buffer.getFloat();
+            byte movePattern = buffer.get();
+            EnemyShip.MovePhaseDuration phaseDuration = lookup(PHASE_DURATIONS, buffer.get(), "phase duration");
+            EnemyShip.Speed speed = lookup(SPEEDS, buffer.get(), "speed");
+            EnemyShip.FiringPattern firingPattern = lookup(FIRING_PATTERNS, buffer.get(), "firing pattern");
+            EnemyShip.FireRate fireRate = lookup(FIRE_RATES, buffer.get(), "fire rate");
+            buffer.get();
+            short descriptionIndex = buffer.getShort();
+            if (movePattern == CUSTOM_MOVE_PATTERN) {
+                String description = lookup(descriptions, descriptionIndex, "description index");
+                enemies.add(new EnemySpawn(x, y, description, phaseDuration, speed, firingPattern, fireRate));
+            } else {
+                EnemyShip.MovementPatterns pattern = lookup(MOVE_PATTERNS, movePattern, "move pattern");
+                enemies.add(new EnemySpawn(x, y, pattern, phaseDuration, speed, firingPattern, fireRate));
+            }
+        }
+        powerups.ensureCapacity(powerups.size() + powerupCount);
+        for (int i = 0; i < powerupCount; i++) {
+            float x = buffer.getFloat();
+            float y = buffer.getFloat();
+            Powerup.PowerupType type = lookup(POWERUP_TYPES, buffer.get(), "powerup type");
+            buffer.position(buffer.position() + 3);
+            powerups.add(new PowerupSpawn(x, y, type));
+        }
+    }
+
+    /**
+     * Looks up a value read from the file, which may be corrupt or written with other enums.
+     * @param  values  Values the index selects from.
+     * @param  index  Index read from the file.
+     * @param  field  Name of the field, for the error message.
+     * @return  The value at index.
+     * @throws  GdxRuntimeException  If the index is out of range.
+     */
+    private static <T> T lookup(T[] values, int index, String field) {
+        if (index < 0 || index >= values.length) {
+            throw new GdxRuntimeException("Binary level file has " + field + " " + index + ", expected 0 to " +
+                    (values.length - 1) + ".");
+        }
+        return values[index];
+    }
+
+    /**
+     * @param  count  Count or length read from the file.
+     * @param  field  Name of the field, for the error message.
+     * @return  The count.
+     * @throws  GdxRuntimeException  If the count is negative.
+     */
+    private static int checkCount(int count, String field) {
+        if (count < 0) throw new GdxRuntimeException("Binary level file has " + field + " count " + count + ".");
+        return count;
+    }
+
+    private static ArrayList<JsonValue> sortedObjects(JsonValue objects) {
+        ArrayList<JsonValue> sorted = new ArrayList<JsonValue>(objects.size);
+        for (int i = 0; i < objects.size; i++) {
+            sorted.add(objects.get(i));
+        }
+        Collections.sort(sorted, BY_Y);
+        return sorted;
+    }
+}
@@ -1,156 +1,229 @@
 package com.udacity.gamedev.spacekerfuffle.util;
 
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
 import com.udacity.gamedev.spacekerfuffle.entities.Powerup;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 
 /**
- * Script that parses JSON for level data such as enemy and powerup locations.
+ * Script that parses JSON for level data such as enemy and powerup locations.  Parsed files aren't
+ * kept; normally LevelLoader reads the precompiled binary level instead and this class is only the
+ * fallback, and the source for LevelBinaryFormat.
  */
 public class LevelJSONParser {
 
     public static final String LOG_TAG = LevelJSONParser.class.getName();
 
-    private static final int ENEMY_LAYER_INDEX = 1;
-    private static final int POWERUP_LAYER_INDEX = 2;
+    static final int ENEMY_LAYER_INDEX = 1;
+    static final int POWERUP_LAYER_INDEX = 2;
 
-    private static JsonValue root = new JsonReader().parse(Gdx.files.internal(GameplayConstants.LEVEL_JSON_FILEPATH));
+    //Optional enemy property describing a movement pattern of its own, e.g. "SOUTH EAST STILL".
+    static final String MOVE_DESCRIPTION_PROPERTY = "move-description";
+
+    //Property values used in the Tiled file.  Unknown values fall back to the defaults below.
+    private static final ObjectMap<String, EnemyShip.MovementPatterns> MOVE_PATTERNS =
+            new ObjectMap<String, EnemyShip.MovementPatterns>();
+    private static final ObjectMap<String, EnemyShip.FiringPattern> FIRING_PATTERNS =
+            new ObjectMap<String, EnemyShip.FiringPattern>();
+    private static final ObjectMap<String, EnemyShip.Speed> SPEEDS = new ObjectMap<String, EnemyShip.Speed>();
+    private static final ObjectMap<String, EnemyShip.FireRate> FIRE_RATES = new ObjectMap<String, EnemyShip.FireRate>();
+    private static final ObjectMap<String, EnemyShip.MovePhaseDuration> PHASE_DURATIONS =
+            new ObjectMap<String, EnemyShip.MovePhaseDuration>();
+    private static final ObjectMap<String, Powerup.PowerupType> POWERUP_TYPES =
+            new ObjectMap<String, Powerup.PowerupType>();
+
+    static {
+        MOVE_PATTERNS.put("simple", EnemyShip.MovementPatterns.SIMPLE);
+        MOVE_PATTERNS.put("simple-pause", EnemyShip.MovementPatterns.SIMPLE_PAUSE);
+        MOVE_PATTERNS.put("simple-pause-long", EnemyShip.MovementPatterns.SIMPLE_PAUSE_LONG);
+        MOVE_PATTERNS.put("s-right", EnemyShip.MovementPatterns.S_RIGHT);
+        MOVE_PATTERNS.put("s-left", EnemyShip.MovementPatterns.S_LEFT);
+        MOVE_PATTERNS.put("strafe-s-right", EnemyShip.MovementPatterns.STRAFE_S_RIGHT);
+        MOVE_PATTERNS.put("strafe-s-left", EnemyShip.MovementPatterns.STRAFE_S_LEFT);
+        MOVE_PATTERNS.put("zig-zag-right", EnemyShip.MovementPatterns.ZIG_ZAG_RIGHT);
+        MOVE_PATTERNS.put("zig-zag-left", EnemyShip.MovementPatterns.ZIG_ZAG_LEFT);
+
+        FIRING_PATTERNS.put("simple", EnemyShip.FiringPattern.SIMPLE);
+        FIRING_PATTERNS.put("spray", EnemyShip.FiringPattern.SPRAY);
+        FIRING_PATTERNS.put("homing", EnemyShip.FiringPattern.AIMED);
+
+        SPEEDS.put("slow", EnemyShip.Speed.SLOW);
+        SPEEDS.put("medium", EnemyShip.Speed.MEDIUM);
+        SPEEDS.put("fast", EnemyShip.Speed.FAST);
+
+        FIRE_RATES.put("slow", EnemyShip.FireRate.SLOW);
+        FIRE_RATES.put("medium", EnemyShip.FireRate.MEDIUM);
+        FIRE_RATES.put("fast", EnemyShip.FireRate.FAST);
+
+        PHASE_DURATIONS.put("short", EnemyShip.MovePhaseDuration.SHORT);
+        PHASE_DURATIONS.put("medium", EnemyShip.MovePhaseDuration.MEDIUM);
+        PHASE_DURATIONS.put("long", EnemyShip.MovePhaseDuration.LONG);
+
+        POWERUP_TYPES.put("extra-life", Powerup.PowerupType.EXTRA_LIFE);
+        POWERUP_TYPES.put("improved-lasers", Powerup.PowerupType.IMPROVED_LASERS);
+        POWERUP_TYPES.put("extra-missiles", Powerup.PowerupType.EXTRA_MISSILES);
+    }
+
+    //Same order that AbstractEntity.compareTo() sorted the entities into.
+    private static final Comparator<EnemySpawn> ENEMIES_BY_Y = new Comparator<EnemySpawn>() {
+        @Override
+        public int compare(EnemySpawn a, EnemySpawn b) {
+            return (int) (a.y - b.y);
+        }
+    };
+    private static final Comparator<PowerupSpawn> POWERUPS_BY_Y = new Comparator<PowerupSpawn>() {
+        @Override
+        public int compare(PowerupSpawn a, PowerupSpawn b) {
+            return (int) (a.y - b.y);
+        }
+    };
+
+    /**
+     * Parses a level file.
+     * @param  file  Tiled level JSON.
+     * @return  Root of the level JSON.
+     */
+    public static JsonValue parse(FileHandle file) {
+        return new JsonReader().parse(file);
+    }
 
     /**
-     * Creates array of EnemyShip objects from level JSON.
-     * @return  Array of positioned and initialized EnemyShip objects.
+     * Creates array of enemy spawn records from parsed level JSON.
+     * @param  root  Root of the level JSON, see parse().
+     * @return  Array of EnemySpawns sorted by y.
      */
-    public static ArrayList<EnemyShip> getEnemyArray() {
-        JsonValue enemyListJson = root.get("layers").get(ENEMY_LAYER_INDEX).get("objects");
-        ArrayList<EnemyShip> enemies = new ArrayList<EnemyShip>();
+    public static ArrayList<EnemySpawn> getEnemySpawns(JsonValue root) {
+        JsonValue enemyListJson = getEnemyObjects(root);
+        ArrayList<EnemySpawn> enemies = new ArrayList<EnemySpawn>(enemyListJson.size);
         for (int i = 0; i < enemyListJson.size; i++) {
             enemies.add(parseEnemyObject(enemyListJson.get(i)));
         }
-        Collections.sort(enemies);
+        Collections.sort(enemies, ENEMIES_BY_Y);
         return enemies;
     }
 
     /**
-     * Creates an EnemyShip object from the corresponding JSON object.
+     * Creates an enemy spawn record from the corresponding JSON object.
      * @param enemy  JsonValue containing enemy information.
-     * @return  New EnempyShip object.
+     * @return  New EnemySpawn.
      */
-    public static EnemyShip parseEnemyObject(JsonValue enemy) {
-        EnemyShip.MovementPatterns movePattern;
-        String movePatternStr = enemy.get("properties").get("move-pattern").asString();
-        if (movePatternStr.equals("simple")) {
-            movePattern = EnemyShip.MovementPatterns.SIMPLE;
-        } else if (movePatternStr.equals("simple-pause")) {
-            movePattern = EnemyShip.MovementPatterns.SIMPLE_PAUSE;
-        } else if (movePatternStr.equals("simple-pause-long")) {
-            movePattern = EnemyShip.MovementPatterns.SIMPLE_PAUSE_LONG;
-        } else if (movePatternStr.equals("s-right")) {
-            movePattern = EnemyShip.MovementPatterns.S_RIGHT;
-        } else if (movePatternStr.equals("s-left")) {
-            movePattern = EnemyShip.MovementPatterns.S_LEFT;
-        } else if (movePatternStr.equals("strafe-s-right")) {
-            movePattern = EnemyShip.MovementPatterns.STRAFE_S_RIGHT;
-        } else if (movePatternStr.equals("strafe-s-left")) {
-            movePattern = EnemyShip.MovementPatterns.STRAFE_S_LEFT;
-        } else if (movePatternStr.equals("zig-zag-right")) {
-            movePattern = EnemyShip.MovementPatterns.ZIG_ZAG_RIGHT;
-        } else if (movePatternStr.equals("zig-zag-left")) {
-            movePattern = EnemyShip.MovementPatterns.ZIG_ZAG_LEFT;
-        } else {
-            movePattern = EnemyShip.MovementPatterns.SIMPLE;
-        }
-        EnemyShip.FiringPattern firePattern;
-        String firePatternStr = enemy.get("properties").get("firing-pattern").asString();
-        if (firePatternStr.equals("simple")) {
-            firePattern = EnemyShip.FiringPattern.SIMPLE;
-        } else if (firePatternStr.equals("spray")) {
-            firePattern = EnemyShip.FiringPattern.SPRAY;
-        } else if (firePatternStr.equals("homing")) {
-            firePattern = EnemyShip.FiringPattern.AIMED;
-        } else {
-            firePattern = EnemyShip.FiringPattern.SIMPLE;
-        }
-        EnemyShip.Speed speed;
-        String speedStr = enemy.get("properties").get("speed").asString();
-        if (speedStr.equals("slow")) {
-            speed = EnemyShip.Speed.SLOW;
-        } else if (speedStr.equals("medium")) {
-            speed = EnemyShip.Speed.MEDIUM;
-        } else if (speedStr.equals("fast")) {
-            speed = EnemyShip.Speed.FAST;
-        } else {
-            speed = EnemyShip.Speed.MEDIUM;
+    public static EnemySpawn parseEnemyObject(JsonValue enemy) {
+        JsonValue properties = enemy.get("properties");
+        String moveDescription = getMoveDescription(properties);
+        if (moveDescription != null) {
+            return new EnemySpawn(
+                    enemy.get("x").asFloat(),
+                    enemy.get("y").asFloat(),
+                    moveDescription,
+                    getPhaseDuration(properties),
+                    getSpeed(properties),
+                    getFiringPattern(properties),
+                    getFireRate(properties)
+            );
         }
-        EnemyShip.FireRate fireRate;
-        String fireRateStr = enemy.get("properties").get("fire-rate").asString();
-        if (fireRateStr.equals("slow")) {
-            fireRate = EnemyShip.FireRate.SLOW;
-        } else if (fireRateStr.equals("medium")) {
-            fireRate = EnemyShip.FireRate.MEDIUM;
-        } else if (fireRateStr.equals("fast")) {
-            fireRate = EnemyShip.FireRate.FAST;
-        } else {
-            fireRate = EnemyShip.FireRate.MEDIUM;
-        }
-        EnemyShip.MovePhaseDuration phaseDuration;
-        String phaseDurationStr = enemy.get("properties").get("phase-duration").asString();
-        if (phaseDurationStr.equals("short")) {
-            phaseDuration = EnemyShip.MovePhaseDuration.SHORT;
-        } else if (phaseDurationStr.equals("medium")) {
-            phaseDuration = EnemyShip.MovePhaseDuration.MEDIUM;
-        } else if (phaseDurationStr.equals("long")) {
-            phaseDuration = EnemyShip.MovePhaseDuration.LONG;
-        } else {
-            phaseDuration = EnemyShip.MovePhaseDuration.MEDIUM;
-        }
-        return new EnemyShip(
+        return new EnemySpawn(
                 enemy.get("x").asFloat(),
                 enemy.get("y").asFloat(),
-                movePattern,
-                phaseDuration,
-                speed,
-                firePattern,
-                fireRate
+                getMovePattern(properties),
+                getPhaseDuration(properties),
+                getSpeed(properties),
+                getFiringPattern(properties),
+                getFireRate(properties)
         );
     }
 
     /**
-     * Get array of powerups from level JSON.
-     * @return  Array of initialized & positioned Powerups.
+     * Get array of powerup spawn records from parsed level JSON.
+     * @param  root  Root of the level JSON, see parse().
+     * @return  Array of PowerupSpawns sorted by y.
      */
-    public static ArrayList<Powerup> getPowerupArray() {
-        JsonValue powerupArray = root.get("layers").get(POWERUP_LAYER_INDEX).get("objects");
-        ArrayList<Powerup> powerups = new ArrayList<Powerup>();
+    public static ArrayList<PowerupSpawn> getPowerupSpawns(JsonValue root) {
+        JsonValue powerupArray = getPowerupObjects(root);
+        ArrayList<PowerupSpawn> powerups = new ArrayList<PowerupSpawn>(powerupArray.size);
         for (int i = 0; i < powerupArray.size; i++) {
-            Powerup.PowerupType type;
             JsonValue powerup = powerupArray.get(i);
-            String powerupTypeStr = powerup.
-                    get("properties").
-                    get("powerup-type").
-                    asString();
-            if (powerupTypeStr.equals("extra-life")) {
-                type = Powerup.PowerupType.EXTRA_LIFE;
-            } else if (powerupTypeStr.equals("improved-lasers")) {
-                type = Powerup.PowerupType.IMPROVED_LASERS;
-            } else if (powerupTypeStr.equals("extra-missiles")) {
-                type = Powerup.PowerupType.EXTRA_MISSILES;
-            } else {
-                type = Powerup.PowerupType.EXTRA_LIFE;
-            }
-            powerups.add(new Powerup(
+            powerups.add(new PowerupSpawn(
                     powerup.get("x").asFloat(),
                     powerup.get("y").asFloat(),
-                    type
+                    getPowerupType(powerup.get("properties"))
             ));
         }
-        Collections.sort(powerups);
+        Collections.sort(powerups, POWERUPS_BY_Y);
         return powerups;
 
     }
 
+    static JsonValue getEnemyObjects(JsonValue root) {
+        return root.get("layers").get(ENEMY_LAYER_INDEX).get("objects");
+    }
+
+    static JsonValue getPowerupObjects(JsonValue root) {
+        return root.get("layers").get(POWERUP_LAYER_INDEX).get("objects");
+    }
+
+    /**
+     * Gets the enemy's own movement description, which takes the place of move-pattern.
+     * @param  properties  Enemy's Tiled properties.
+     * @return  Description in the format MovementTable.parse() reads, or null if there is none.
+     */
+    static String getMoveDescription(JsonValue properties) {
+        return properties.getString(MOVE_DESCRIPTION_PROPERTY, null);
+    }
+
+    static EnemyShip.MovementPatterns getMovePattern(JsonValue properties) {
+        return movePatternFor(properties.getString("move-pattern"));
+    }
+
+    static EnemyShip.FiringPattern getFiringPattern(JsonValue properties) {
+        return firingPatternFor(properties.getString("firing-pattern"));
+    }
+
+    static EnemyShip.Speed getSpeed(JsonValue properties) {
+        return speedFor(properties.getString("speed"));
+    }
+
+    static EnemyShip.FireRate getFireRate(JsonValue properties) {
+        return fireRateFor(properties.getString("fire-rate"));
+    }
+
+    static EnemyShip.MovePhaseDuration getPhaseDuration(JsonValue properties) {
+        return phaseDurationFor(properties.getString("phase-duration"));
+    }
+
+    static Powerup.PowerupType getPowerupType(JsonValue properties) {
+        return powerupTypeFor(properties.getString("powerup-type"));
+    }
+
+    static EnemyShip.MovementPatterns movePatternFor(String value) {
+        return MOVE_PATTERNS.get(value, EnemyShip.MovementPatterns.SIMPLE);
+    }
+
+    static EnemyShip.FiringPattern firingPatternFor(String value) {
+        return FIRING_PATTERNS.get(value, EnemyShip.FiringPattern.SIMPLE);
+    }
+
+    static EnemyShip.Speed speedFor(String value) {
+        return SPEEDS.get(value, EnemyShip.Speed.MEDIUM);
+    }
+
+    static EnemyShip.FireRate fireRateFor(String value) {
+        return FIRE_RATES.get(value, EnemyShip.FireRate.MEDIUM);
+    }
+
+    static EnemyShip.MovePhaseDuration phaseDurationFor(String value) {
+        return PHASE_DURATIONS.get(value, EnemyShip.MovePhaseDuration.MEDIUM);
+    }
+
+    static Powerup.PowerupType powerupTypeFor(String value) {
+        return POWERUP_TYPES.get(value, Powerup.PowerupType.EXTRA_LIFE);
+    }
+
 }
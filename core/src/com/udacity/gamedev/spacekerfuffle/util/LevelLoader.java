@@ -0,0 +1,118 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonValue;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
+import com.udacity.gamedev.spacekerfuffle.level.LevelTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * Loads the LevelTemplates of the level sequence from their precompiled binary spawn tables (see
+ * LevelBinaryFormat), falling back to parsing the Tiled JSON with LevelJSONParser if a binary file
+ * is missing, out of date or unreadable on this platform.  Each template is loaded once and shared
+ * from then on.  Loading is thread-safe, so that LevelPreloader can load the next level on a
+ * worker thread.
+ */
+public class LevelLoader {
+
+    public static final String LOG_TAG = LevelLoader.class.getName();
+
+    private static BufferSource bufferSource = new ReadingBufferSource();
+    private static final LevelTemplate[] templates =
+            new LevelTemplate[GameplayConstants.LEVEL_JSON_FILEPATHS.length];
+
+    private LevelLoader() {}
+
+    /**
+     * Replaces the way the binary level file is read, e.g. with a memory-mapping source on desktop.
+     * @param  source  BufferSource to use for subsequent loads.
+     */
+    public static void setBufferSource(BufferSource source) {
+        bufferSource = source;
+    }
+
+    /**
+     * Gets the first level's template, loading it on first use.
+     * @return  The shared LevelTemplate.
+     */
+    public static LevelTemplate getTemplate() {
+        return getTemplate(0);
+    }
+
+    /**
+     * Gets a level's template, loading it on first use.  Safe to call from several threads, e.g.
+     * from headless batch runs or while preloading.
+     * @param  levelIndex  Index into the level sequence.
+     * @return  The shared LevelTemplate.
+     */
+    public static synchronized LevelTemplate getTemplate(int levelIndex) {
+        if (templates[levelIndex] == null) {
+            ArrayList<EnemySpawn> enemies = new ArrayList<EnemySpawn>();
+            ArrayList<PowerupSpawn> powerups = new ArrayList<PowerupSpawn>();
+            load(levelIndex, enemies, powerups);
+            templates[levelIndex] = new LevelTemplate(enemies, powerups);
+        }
+        return templates[levelIndex];
+    }
+
+    /**
+     * Gets the number of levels in the sequence.
+     * @return  Level count.
+     */
+    public static int getLevelCount() {
+        return templates.length;
+    }
+
+    /**
+     * Reads the spawn records for a level.
+     * @param  levelIndex  Index into the level sequence.
+     * @param  enemies  List that receives the level's enemy spawns, sorted by y.
+     * @param  powerups  List that receives the level's powerup spawns, sorted by y.
+     */
+    private static void load(int levelIndex, ArrayList<EnemySpawn> enemies, ArrayList<PowerupSpawn> powerups) {
+        FileHandle file = Gdx.files.internal(GameplayConstants.LEVEL_BINARY_FILEPATHS[levelIndex]);
+        if (file.exists()) {
+            try {
+                LevelBinaryFormat.read(bufferSource.open(file), enemies, powerups);
+                return;
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error(LOG_TAG, "Couldn't read " + file.path() + ", falling back to JSON.", e);
+                enemies.clear();
+                powerups.clear();
+            }
+        }
+        //The template is kept, so the parsed JSON isn't.
+        JsonValue root = LevelJSONParser.parse(Gdx.files.internal(GameplayConstants.LEVEL_JSON_FILEPATHS[levelIndex]));
+        enemies.addAll(LevelJSONParser.getEnemySpawns(root));
+        powerups.addAll(LevelJSONParser.getPowerupSpawns(root));
+    }
+
+    /**
+     * Supplies the contents of a file as a ByteBuffer.
+     */
+    public interface BufferSource {
+
+        /**
+         * @param  file  File to read.
+         * @return  Buffer holding the whole file, positioned at its start.
+         * @throws  GdxRuntimeException  If the file can't be read.
+         */
+        ByteBuffer open(FileHandle file);
+    }
+
+    /**
+     * Reads the whole file into a heap buffer.  Works on every platform.
+     */
+    private static class ReadingBufferSource implements BufferSource {
+
+        @Override
+        public ByteBuffer open(FileHandle file) {
+            return ByteBuffer.wrap(file.readBytes());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.udacity.gamedev.spacekerfuffle.entities.BossScript;
+import com.udacity.gamedev.spacekerfuffle.level.LevelTemplate;
+
+/**
+ * Loads the next level of the sequence on a worker thread while the current one is played, so that
+ * moving on to it doesn't stall the render thread.  Spawn data is loaded through LevelLoader on the
+ * worker, along with the boss script; the level's atlas is queued on the AssetManager, which loads
+ * it as Assets.update() is called each frame.
+ */
+public class LevelPreloader implements Disposable {
+
+    public static final String LOG_TAG = LevelPreloader.class.getName();
+
+    private final AsyncExecutor executor;
+    private AsyncResult<LevelTemplate> pending;
+    private int pendingIndex;
+
+    public LevelPreloader() {
+        executor = new AsyncExecutor(1);
+        pendingIndex = -1;
+    }
+
+    /**
+     * Starts loading a level in the background.  Does nothing if the index is past the end of the
+     * sequence or the level is already being loaded.
+     * @param  levelIndex  Index into the level sequence.
+     */
+    public void preload(final int levelIndex) {
+        if (levelIndex >= LevelLoader.getLevelCount() || levelIndex == pendingIndex) return;
+        Gdx.app.log(LOG_TAG, "Preloading level " + levelIndex + ".");
+        Assets.instance.queueAtlas(GameplayConstants.ATLAS_PATH);
+        pendingIndex = levelIndex;
+        pending = executor.submit(new AsyncTask<LevelTemplate>() {
+            @Override
+            public LevelTemplate call() {
+                BossScript.get(GameplayConstants.BOSS_SCRIPT_FILEPATH);
+                return LevelLoader.getTemplate(levelIndex);
+            }
+        });
+    }
+
+    /**
+     * Gets a level's template.  If the level was preloaded this only waits for the worker in case it
+     * hasn't finished yet; otherwise the level is loaded on the calling thread.
+     * @param  levelIndex  Index into the level sequence.
+     * @return  The level's LevelTemplate.
+     */
+    public LevelTemplate get(int levelIndex) {
+        if (levelIndex == pendingIndex) {
+            if (!pending.isDone()) {
+                Gdx.app.log(LOG_TAG, "Level " + levelIndex + " not preloaded yet, waiting.");
+            }
+            return pending.get();
+        }
+        return LevelLoader.getTemplate(levelIndex);
+    }
+
+    @Override
+    public void dispose() {
+        executor.dispose();
+    }
+}
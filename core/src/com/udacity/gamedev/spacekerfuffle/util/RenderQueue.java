@@ -0,0 +1,385 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+
+import java.util.Arrays;
+
+/**
+ * Collects a frame's sprite draws and submits them to a SpriteBatch in one pass, sorted by Layer
+ * and then by texture.  Draws keep the order they were queued in within a layer and texture, so
+ * only draws that can't overlap differently are reordered, and the batch is only flushed when the
+ * texture really has to change.
+ *
+ * Once setView() has been given the camera, sprites whose bounds, rotation included, lie wholly
+ * outside its view are dropped as they are queued.  Only drawing is skipped, so whatever queued
+ * them goes on updating as usual.
+ *
+ * Each render() records the batch's render calls, the largest batch and the sprites drawn and
+ * culled per layer for that frame, along with the peaks since the last resetStats().  Render calls
+ * beyond one per run of a texture are batch breaks that sorting couldn't remove, e.g. a batch too
+ * small for the sprites; they are counted so that they show up as content grows.
+ */
+public class RenderQueue {
+
+    public static final String LOG_TAG = RenderQueue.class.getName();
+
+    private static final Layer[] LAYERS = Layer.values();
+    private static final int INITIAL_CAPACITY = 256;
+    //x, y, originX, originY, width, height, rotation.
+    private static final int FLOATS_PER_DRAW = 7;
+    //Sort keys hold the layer, the texture id and the draw's index, from most to least significant.
+    private static final int LAYER_SHIFT = 48;
+    private static final int TEXTURE_SHIFT = 32;
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+    private TextureRegion[] regions;
+    private boolean[] flipX;
+    private float[] floats;
+    private long[] keys;
+    private int size;
+    //Ids in the order textures were first queued, so that the order textures are drawn in stays
+    //the same from frame to frame.
+    private final ObjectIntMap<Texture> textureIds;
+    //View rectangle in world coordinates, used once culling is set.
+    private boolean culling;
+    private float viewLeft;
+    private float viewBottom;
+    private float viewRight;
+    private float viewTop;
+
+    //Statistics of the last render().
+    private int renderCalls;
+    private int maxSpritesInBatch;
+    //Runs of consecutive sprites with the same texture in the sorted order.
+    private int textureRuns;
+    private final int[] spritesPerLayer;
+    private final int[] queuedPerLayer;
+    private final int[] culledPerLayer;
+    private final int[] culledThisFrame;
+    //Peaks since the last resetStats().
+    private int peakRenderCalls;
+    private int peakSpritesInBatch;
+    private int peakBatchBreaks;
+    private final int[] peakSpritesPerLayer;
+    private int totalRenderCalls;
+    private long totalDrawn;
+    private long totalCulled;
+    private long frames;
+
+    public RenderQueue() {
+        regions = new TextureRegion[INITIAL_CAPACITY];
+        flipX = new boolean[INITIAL_CAPACITY];
+        floats = new float[INITIAL_CAPACITY * FLOATS_PER_DRAW];
+        keys = new long[INITIAL_CAPACITY];
+        textureIds = new ObjectIntMap<Texture>();
+        spritesPerLayer = new int[LAYERS.length];
+        queuedPerLayer = new int[LAYERS.length];
+        peakSpritesPerLayer = new int[LAYERS.length];
+        culledPerLayer = new int[LAYERS.length];
+        culledThisFrame = new int[LAYERS.length];
+    }
+
+    /**
+     * Starts culling sprites against a camera's view.  The view is read when this is called, so
+     * call it each frame once the camera has been updated, before queueing.
+     * @param  camera  Camera the queue will be rendered with, or null to stop culling.
+     */
+    public void setView(Camera camera) {
+        culling = camera != null;
+        if (!culling) return;
+        float zoom = (camera instanceof OrthographicCamera) ? ((OrthographicCamera) camera).zoom : 1;
+        float halfWidth = camera.viewportWidth * zoom / 2;
+        float halfHeight = camera.viewportHeight * zoom / 2;
+        viewLeft = camera.position.x - halfWidth;
+        viewRight = camera.position.x + halfWidth;
+        viewBottom = camera.position.y - halfHeight;
+        viewTop = camera.position.y + halfHeight;
+    }
+
+    /**
+     * Queues a sprite, drawn the same way as by Batch.draw() with a scale of one, unless it is
+     * outside the view.
+     * @param  layer  Layer to draw the sprite in.
+     * @param  region  Texture region to draw.
+     * @param  x  x coordinate of the sprite's bottom left corner.
+     * @param  y  y coordinate of the sprite's bottom left corner.
+     * @param  originX  x coordinate of the rotation origin, relative to the bottom left corner.
+     * @param  originY  y coordinate of the rotation origin, relative to the bottom left corner.
+     * @param  width  Width of the sprite.
+     * @param  height  Height of the sprite.
+     * @param  rotation  Counterclockwise rotation in degrees.
+     * @param  flipX  True to mirror the region horizontally.
+     */
+    public void draw(Layer layer, TextureRegion region, float x, float y, float originX, float originY,
+                     float width, float height, float rotation, boolean flipX) {
+        if (culling && !isVisible(x, y, originX, originY, width, height, rotation)) {
+            culledThisFrame[layer.ordinal()]++;
+            return;
+        }
+        if (size == regions.length) grow();
+        Texture texture = region.getTexture();
+        int textureId = textureIds.get(texture, -1);
+        if (textureId == -1) {
+            textureId = textureIds.size;
+            textureIds.put(texture, textureId);
+        }
+        regions[size] = region;
+        this.flipX[size] = flipX;
+        int i = size * FLOATS_PER_DRAW;
+        floats[i++] = x;
+        floats[i++] = y;
+        floats[i++] = originX;
+        floats[i++] = originY;
+        floats[i++] = width;
+        floats[i++] = height;
+        floats[i] = rotation;
+        keys[size] = ((long) layer.ordinal() << LAYER_SHIFT)
+                | ((long) textureId << TEXTURE_SHIFT)
+                | size;
+        queuedPerLayer[layer.ordinal()]++;
+        size++;
+    }
+
+    /**
+     * Queues an unrotated sprite.
+     * @param  layer  Layer to draw the sprite in.
+     * @param  region  Texture region to draw.
+     * @param  x  x coordinate of the sprite's bottom left corner.
+     * @param  y  y coordinate of the sprite's bottom left corner.
+     * @param  width  Width of the sprite.
+     * @param  height  Height of the sprite.
+     */
+    public void draw(Layer layer, TextureRegion region, float x, float y, float width, float height) {
+        draw(layer, region, x, y, 0, 0, width, height, 0, false);
+    }
+
+    /**
+     * Sorts the queued sprites, draws them between the batch's begin() and end() and empties the
+     * queue.  The batch's projection matrix must already be set.
+     * @param  batch  Batch to draw with.  Must not be drawing already.
+     */
+    public void render(SpriteBatch batch) {
+        Arrays.sort(keys, 0, size);
+        batch.maxSpritesInBatch = 0;
+        batch.begin();
+        Texture lastTexture = null;
+        textureRuns = 0;
+        for (int k = 0; k < size; k++) {
+            int index = (int) (keys[k] & INDEX_MASK);
+            TextureRegion region = regions[index];
+            if (region.getTexture() != lastTexture) {
+                lastTexture = region.getTexture();
+                textureRuns++;
+            }
+            int i = index * FLOATS_PER_DRAW;
+            batch.draw(
+                    region.getTexture(),
+                    floats[i],
+                    floats[i + 1],
+                    floats[i + 2],
+                    floats[i + 3],
+                    floats[i + 4],
+                    floats[i + 5],
+                    1, 1,
+                    floats[i + 6],
+                    region.getRegionX(),
+                    region.getRegionY(),
+                    region.getRegionWidth(),
+                    region.getRegionHeight(),
+                    flipX[index],
+                    false
+            );
+            regions[index] = null;
+        }
+        batch.end();
+        recordStats(batch);
+        size = 0;
+    }
+
+    /**
+     * Empties the queue without drawing anything.
+     */
+    public void clear() {
+        Arrays.fill(regions, 0, size, null);
+        Arrays.fill(queuedPerLayer, 0);
+        Arrays.fill(culledThisFrame, 0);
+        size = 0;
+    }
+
+    /**
+     * @return  Batch flushes during the last render().
+     */
+    public int getRenderCalls() { return renderCalls; }
+
+    /**
+     * @return  Batch flushes over every render() since the last resetStats().
+     */
+    public int getTotalRenderCalls() { return totalRenderCalls; }
+
+    /**
+     * @return  Most sprites drawn by a single flush during the last render().
+     */
+    public int getMaxSpritesInBatch() { return maxSpritesInBatch; }
+
+    /**
+     * @return  Texture changes during the last render() plus one, the fewest flushes possible with
+     *          the layers kept in order.
+     */
+    public int getTextureRuns() { return textureRuns; }
+
+    /**
+     * @return  Flushes beyond one per texture run during the last render().
+     */
+    public int getBatchBreaks() { return Math.max(0, renderCalls - textureRuns); }
+
+    /**
+     * @param  layer  Layer of interest.
+     * @return  Sprites drawn in the layer during the last render().
+     */
+    public int getSpriteCount(Layer layer) { return spritesPerLayer[layer.ordinal()]; }
+
+    /**
+     * @param  layer  Layer of interest.
+     * @return  Sprites culled from the layer during the last render().
+     */
+    public int getCulledCount(Layer layer) { return culledPerLayer[layer.ordinal()]; }
+
+    /**
+     * Forgets the peaks and totals gathered so far.
+     */
+    public void resetStats() {
+        peakRenderCalls = 0;
+        peakSpritesInBatch = 0;
+        peakBatchBreaks = 0;
+        Arrays.fill(peakSpritesPerLayer, 0);
+        totalRenderCalls = 0;
+        totalDrawn = 0;
+        totalCulled = 0;
+        frames = 0;
+    }
+
+    /**
+     * Logs the last frame's statistics and the peaks since the last resetStats().
+     */
+    public void logStats() {
+        Gdx.app.log(LOG_TAG, "Over " + frames + " frames: " + totalRenderCalls + " render calls, "
+                + "peak " + peakRenderCalls + " per frame, " + peakBatchBreaks + " batch breaks, "
+                + peakSpritesInBatch + " sprites in a batch, " + totalDrawn + " sprites drawn and "
+                + totalCulled + " culled.");
+        StringBuilder builder = new StringBuilder(
+                "Sprites per layer, drawn / culled last frame and peak drawn:");
+        for (Layer layer : LAYERS) {
+            builder.append(' ').append(layer.name()).append(' ')
+                    .append(spritesPerLayer[layer.ordinal()]).append('/')
+                    .append(culledPerLayer[layer.ordinal()]).append('/')
+                    .append(peakSpritesPerLayer[layer.ordinal()]);
+        }
+        Gdx.app.log(LOG_TAG, builder.toString());
+    }
+
+    private void recordStats(SpriteBatch batch) {
+        renderCalls = batch.renderCalls;
+        maxSpritesInBatch = batch.maxSpritesInBatch;
+        totalRenderCalls += renderCalls;
+        frames++;
+        peakRenderCalls = Math.max(peakRenderCalls, renderCalls);
+        peakSpritesInBatch = Math.max(peakSpritesInBatch, maxSpritesInBatch);
+        peakBatchBreaks = Math.max(peakBatchBreaks, getBatchBreaks());
+        for (int i = 0; i < LAYERS.length; i++) {
+            spritesPerLayer[i] = queuedPerLayer[i];
+            culledPerLayer[i] = culledThisFrame[i];
+            peakSpritesPerLayer[i] = Math.max(peakSpritesPerLayer[i], queuedPerLayer[i]);
+            totalDrawn += queuedPerLayer[i];
+            totalCulled += culledThisFrame[i];
+            queuedPerLayer[i] = 0;
+            culledThisFrame[i] = 0;
+        }
+    }
+
+    /**
+     * Tests a sprite's axis-aligned bounds, after rotating it about its origin, against the view.
+     */
+    private boolean isVisible(float x, float y, float originX, float originY,
+                              float width, float height, float rotation) {
+        float centerX = x + width / 2;
+        float centerY = y + height / 2;
+        float halfWidth = width / 2;
+        float halfHeight = height / 2;
+        if (rotation != 0) {
+            float cos = MathUtils.cosDeg(rotation);
+            float sin = MathUtils.sinDeg(rotation);
+            //Center relative to the origin, rotated about it.
+            float relativeX = halfWidth - originX;
+            float relativeY = halfHeight - originY;
+            centerX = x + originX + relativeX * cos - relativeY * sin;
+            centerY = y + originY + relativeX * sin + relativeY * cos;
+            float absCos = Math.abs(cos);
+            float absSin = Math.abs(sin);
+            float rotatedHalfWidth = halfWidth * absCos + halfHeight * absSin;
+            halfHeight = halfWidth * absSin + halfHeight * absCos;
+            halfWidth = rotatedHalfWidth;
+        }
+        return centerX + halfWidth >= viewLeft && centerX - halfWidth <= viewRight
+                && centerY + halfHeight >= viewBottom && centerY - halfHeight <= viewTop;
+    }
+
+    private void grow() {
+        int capacity = regions.length * 2;
+        regions = Arrays.copyOf(regions, capacity);
+        flipX = Arrays.copyOf(flipX, capacity);
+        floats = Arrays.copyOf(floats, capacity * FLOATS_PER_DRAW);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    /**
+     * Layers from back to front.  Entities are layered by type as RenderSystem used to order them,
+     * so that explosions end up on top.
+     */
+    public enum Layer {
+        STARS,
+        LASERS,
+        PLAYER,
+        BOSS,
+        ENEMY_SHIP,
+        MISSILE,
+        POWERUP,
+        EXPLOSION,
+        MISSILE_EXPLOSION;
+
+        /**
+         * @param  type  Type of an entity.
+         * @return  Layer the entity is drawn in.
+         * @throws  GdxRuntimeException  If the type is null, i.e. the entity never set one.
+         */
+        public static Layer of(AbstractEntity.EntityType type) {
+            if (type == null) {
+                throw new GdxRuntimeException("Entity has no type to choose its render layer by.");
+            }
+            switch (type) {
+                case PLAYER:
+                    return PLAYER;
+                case BOSS:
+                    return BOSS;
+                case ENEMY_SHIP: default:
+                    return ENEMY_SHIP;
+                case MISSILE:
+                    return MISSILE;
+                case POWERUP:
+                    return POWERUP;
+                case EXPLOSION:
+                    return EXPLOSION;
+                case MISSILE_EXPLOSION:
+                    return MISSILE_EXPLOSION;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Pool that keeps usage statistics: how many objects were obtained from the free list (hits), how
+ * many had to be newly created (misses), and the largest number of objects in use at once.
+ */
+public abstract class StatsPool<T> extends Pool<T> {
+
+    private final String name;
+
+    private int hits;
+    private int misses;
+    private int inUse;
+    private int peakInUse;
+
+    public StatsPool(String name, int initialCapacity) {
+        super(initialCapacity);
+        this.name = name;
+    }
+
+    @Override
+    public T obtain() {
+        if (getFree() > 0) {
+            hits++;
+        } else {
+            misses++;
+        }
+        inUse++;
+        peakInUse = Math.max(peakInUse, inUse);
+        return super.obtain();
+    }
+
+    @Override
+    public void free(T object) {
+        inUse--;
+        super.free(object);
+    }
+
+    @Override
+    public void freeAll(Array<T> objects) {
+        //Pool.freeAll() bypasses free(), so objects are freed one by one to keep the counts right.
+        for (T object : objects) {
+            free(object);
+        }
+    }
+
+    /**
+     * Resets hit/miss/peak statistics, leaving the pooled objects in place.
+     */
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        peakInUse = inUse;
+    }
+
+    public int getHits() { return hits; }
+
+    public int getMisses() { return misses; }
+
+    public int getInUse() { return inUse; }
+
+    public int getPeakInUse() { return peakInUse; }
+
+    @Override
+    public String toString() {
+        return name + ": " + hits + " hits, " + misses + " misses, " + inUse + " in use, " +
+                peakInUse + " peak, " + getFree() + " free";
+    }
+}
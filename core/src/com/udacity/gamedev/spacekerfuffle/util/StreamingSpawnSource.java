@@ -0,0 +1,288 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.PowerupSpawn;
+import com.udacity.gamedev.spacekerfuffle.level.SpawnSource;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * SpawnSource that reads the enemy and powerup layers of a Tiled level file as the level is played,
+ * instead of parsing the whole file up front.  Each layer has its own JsonPullParser over the file
+ * and only a bounded window of upcoming spawns is held in memory, so levels with hundreds of
+ * thousands of enemies play in constant memory and can start as soon as the first window is read.
+ *
+ * Spawns are handed out highest y first from the look-ahead window.  That is exact as long as no
+ * object is further out of order in the file than the window size; Tiled files written top to
+ * bottom, like generated stress levels, are always exact.
+ */
+public class StreamingSpawnSource implements SpawnSource {
+
+    public static final String LOG_TAG = StreamingSpawnSource.class.getName();
+
+    public static final int DEFAULT_LOOK_AHEAD = 256;
+
+    private final FileHandle file;
+    private final int lookAhead;
+
+    private final PriorityQueue<Pending<EnemySpawn>> enemies;
+    private final PriorityQueue<Pending<PowerupSpawn>> powerups;
+    private JsonPullParser enemyParser;
+    private JsonPullParser powerupParser;
+    private long enemiesRead;
+    private long powerupsRead;
+
+    public StreamingSpawnSource(FileHandle file) {
+        this(file, DEFAULT_LOOK_AHEAD);
+    }
+
+    /**
+     * @param  file  Tiled level JSON to stream.
+     * @param  lookAhead  Maximum number of spawns of each kind to buffer.
+     */
+    public StreamingSpawnSource(FileHandle file, int lookAhead) {
+        this.file = file;
+        this.lookAhead = lookAhead;
+        enemies = new PriorityQueue<Pending<EnemySpawn>>(lookAhead, new PendingComparator<EnemySpawn>());
+        powerups = new PriorityQueue<Pending<PowerupSpawn>>(lookAhead, new PendingComparator<PowerupSpawn>());
+        restart();
+    }
+
+    @Override
+    public EnemySpawn peekEnemy() {
+        fillEnemies();
+        return enemies.isEmpty() ? null : enemies.peek().spawn;
+    }
+
+    @Override
+    public EnemySpawn pollEnemy() {
+        fillEnemies();
+        return enemies.poll().spawn;
+    }
+
+    @Override
+    public PowerupSpawn peekPowerup() {
+        fillPowerups();
+        return powerups.isEmpty() ? null : powerups.peek().spawn;
+    }
+
+    @Override
+    public PowerupSpawn pollPowerup() {
+        fillPowerups();
+        return powerups.poll().spawn;
+    }
+
+    @Override
+    public boolean hasBoss() {
+        return true;
+    }
+
+    /**
+     * Reopens the file and starts reading both layers from the beginning again.
+     */
+    @Override
+    public void restart() {
+        close();
+        enemies.clear();
+        powerups.clear();
+        enemiesRead = 0;
+        powerupsRead = 0;
+        enemyParser = openLayer(LevelJSONParser.ENEMY_LAYER_INDEX);
+        powerupParser = openLayer(LevelJSONParser.POWERUP_LAYER_INDEX);
+    }
+
+    /**
+     * Closes any readers still open on the level file.
+     */
+    public void close() {
+        if (enemyParser != null) {
+            enemyParser.close();
+            enemyParser = null;
+        }
+        if (powerupParser != null) {
+            powerupParser.close();
+            powerupParser = null;
+        }
+    }
+
+    private void fillEnemies() {
+        while (enemyParser != null && enemies.size() < lookAhead) {
+            if (!startNextObject(enemyParser)) {
+                enemyParser.close();
+                enemyParser = null;
+                break;
+            }
+            EnemySpawn spawn = readEnemy(enemyParser);
+            enemies.add(new Pending<EnemySpawn>(spawn, spawn.y, enemiesRead++));
+        }
+    }
+
+    private void fillPowerups() {
+        while (powerupParser != null && powerups.size() < lookAhead) {
+            if (!startNextObject(powerupParser)) {
+                powerupParser.close();
+                powerupParser = null;
+                break;
+            }
+            PowerupSpawn spawn = readPowerup(powerupParser);
+            powerups.add(new Pending<PowerupSpawn>(spawn, spawn.y, powerupsRead++));
+        }
+    }
+
+    /**
+     * Opens the level file and positions a parser just inside the "objects" array of a layer.
+     */
+    private JsonPullParser openLayer(int layerIndex) {
+        JsonPullParser parser = new JsonPullParser(file.reader("UTF-8"));
+        if (parser.next() != JsonPullParser.Token.START_OBJECT
+                || !parser.skipToName("layers")
+                || parser.next() != JsonPullParser.Token.START_ARRAY) {
+            parser.close();
+            throw new GdxRuntimeException("No layers in " + file.path());
+        }
+        for (int i = 0; i < layerIndex; i++) {
+            parser.next();
+            parser.skipValue();
+        }
+        if (parser.next() != JsonPullParser.Token.START_OBJECT
+                || !parser.skipToName("objects")
+                || parser.next() != JsonPullParser.Token.START_ARRAY) {
+            parser.close();
+            throw new GdxRuntimeException("No object layer " + layerIndex + " in " + file.path());
+        }
+        return parser;
+    }
+
+    /**
+     * @return  true if the parser is now inside the next object of the layer, false at the end.
+     */
+    private static boolean startNextObject(JsonPullParser parser) {
+        JsonPullParser.Token token = parser.next();
+        if (token == JsonPullParser.Token.START_OBJECT) return true;
+        if (token == JsonPullParser.Token.END_ARRAY) return false;
+        throw new GdxRuntimeException("Expected a Tiled object, found " + token);
+    }
+
+    private static EnemySpawn readEnemy(JsonPullParser parser) {
+        float x = 0;
+        float y = 0;
+        String movePattern = null;
+        String moveDescription = null;
+        String phaseDuration = null;
+        String speed = null;
+        String firingPattern = null;
+        String fireRate = null;
+        while (parser.next() == JsonPullParser.Token.NAME) {
+            String name = parser.getString();
+            JsonPullParser.Token value = parser.next();
+            if (name.equals("x")) {
+                x = parser.getFloat();
+            } else if (name.equals("y")) {
+                y = parser.getFloat();
+            } else if (name.equals("properties") && value == JsonPullParser.Token.START_OBJECT) {
+                while (parser.next() == JsonPullParser.Token.NAME) {
+                    String property = parser.getString();
+                    parser.next();
+                    if (property.equals("move-pattern")) {
+                        movePattern = parser.getString();
+                    } else if (property.equals(LevelJSONParser.MOVE_DESCRIPTION_PROPERTY)) {
+                        moveDescription = parser.getString();
+                    } else if (property.equals("phase-duration")) {
+                        phaseDuration = parser.getString();
+                    } else if (property.equals("speed")) {
+                        speed = parser.getString();
+                    } else if (property.equals("firing-pattern")) {
+                        firingPattern = parser.getString();
+                    } else if (property.equals("fire-rate")) {
+                        fireRate = parser.getString();
+                    } else {
+                        parser.skipValue();
+                    }
+                }
+            } else {
+                parser.skipValue();
+            }
+        }
+        if (moveDescription != null) {
+            return new EnemySpawn(
+                    x,
+                    y,
+                    moveDescription,
+                    LevelJSONParser.phaseDurationFor(phaseDuration),
+                    LevelJSONParser.speedFor(speed),
+                    LevelJSONParser.firingPatternFor(firingPattern),
+                    LevelJSONParser.fireRateFor(fireRate)
+            );
+        }
+        return new EnemySpawn(
+                x,
+                y,
+                LevelJSONParser.movePatternFor(movePattern),
+                LevelJSONParser.phaseDurationFor(phaseDuration),
+                LevelJSONParser.speedFor(speed),
+                LevelJSONParser.firingPatternFor(firingPattern),
+                LevelJSONParser.fireRateFor(fireRate)
+        );
+    }
+
+    private static PowerupSpawn readPowerup(JsonPullParser parser) {
+        float x = 0;
+        float y = 0;
+        String type = null;
+        while (parser.next() == JsonPullParser.Token.NAME) {
+            String name = parser.getString();
+            JsonPullParser.Token value = parser.next();
+            if (name.equals("x")) {
+                x = parser.getFloat();
+            } else if (name.equals("y")) {
+                y = parser.getFloat();
+            } else if (name.equals("properties") && value == JsonPullParser.Token.START_OBJECT) {
+                while (parser.next() == JsonPullParser.Token.NAME) {
+                    String property = parser.getString();
+                    parser.next();
+                    if (property.equals("powerup-type")) {
+                        type = parser.getString();
+                    } else {
+                        parser.skipValue();
+                    }
+                }
+            } else {
+                parser.skipValue();
+            }
+        }
+        return new PowerupSpawn(x, y, LevelJSONParser.powerupTypeFor(type));
+    }
+
+    /**
+     * Spawn waiting in the look-ahead window, along with its position in the file.
+     */
+    private static class Pending<T> {
+
+        final T spawn;
+        final float y;
+        final long index;
+
+        Pending(T spawn, float y, long index) {
+            this.spawn = spawn;
+            this.y = y;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Highest y first, later in the file first among equals: the reverse of the order that
+     * LevelJSONParser sorts spawns into, which is how Level consumes them.
+     */
+    private static class PendingComparator<T> implements Comparator<Pending<T>> {
+
+        @Override
+        public int compare(Pending<T> a, Pending<T> b) {
+            int byY = (int) (b.y - a.y);
+            if (byY != 0) return byY;
+            return (a.index < b.index) ? 1 : ((a.index > b.index) ? -1 : 0);
+        }
+    }
+}
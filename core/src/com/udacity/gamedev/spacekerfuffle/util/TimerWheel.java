@@ -0,0 +1,263 @@
+package com.udacity.gamedev.spacekerfuffle.util;
+
+/**
+ * Hierarchical timing wheel that runs timers at points in game time.  Each GameClock owns one (see
+ * GameClock.schedule()), which Level advances once per frame.  Time is divided into ticks of a
+ * fixed resolution; timers due within the next WHEEL_SIZE ticks sit in the slot of their tick on
+ * the first wheel, later ones in coarser wheels, and move down a wheel each time the finer wheel
+ * below wraps around.  Scheduling and cancelling are constant time and advancing only visits the
+ * slots of the ticks that have passed, so the cost per frame follows the timers that fire rather
+ * than the number that are waiting.
+ *
+ * Timers are linked into their slots directly, so once an owner has created its Timer objects,
+ * scheduling them again never allocates.
+ */
+public class TimerWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int WHEEL_COUNT = 4;
+    //Timers further out than the wheels reach wait in the last slot of the coarsest wheel.
+    private static final long MAX_TICKS_AHEAD = (1L << (WHEEL_BITS * WHEEL_COUNT)) - 1;
+    //slotWheel of timers taken out of their slot by runSlot() but not yet run.
+    private static final int RUNNING = -1;
+
+    private final double resolution;
+    //Circular lists of timers, slots[wheel][slot] being the first timer or null.
+    private final Timer[][] slots;
+    //Rest of the slot that runSlot() is working through, as a list ending in null.
+    private Timer running;
+    //Every timer due before this tick has run.
+    private long tick;
+    private int size;
+
+    /**
+     * @param  resolution  Seconds per tick.  Timers are run at the first advance() at or after
+     *                     their time, so this only affects how timers are bucketed, not when they
+     *                     run.
+     */
+    public TimerWheel(float resolution) {
+        this.resolution = resolution;
+        slots = new Timer[WHEEL_COUNT][WHEEL_SIZE];
+    }
+
+    /**
+     * Schedules a timer to run at a point in game time, rescheduling it if it is already waiting.
+     * Times that have already passed run on the next advance().
+     * @param  timer  Timer to schedule.
+     * @param  time  Game time (see GameClock.now()) at which to run it.
+     */
+    public void schedule(Timer timer, double time) {
+        if (timer.wheel != null) timer.wheel.cancel(timer);
+        timer.time = time;
+        timer.wheel = this;
+        insert(timer);
+        size++;
+    }
+
+    /**
+     * Stops a timer from running.  Does nothing if it isn't scheduled on this wheel.
+     * @param  timer  Timer to cancel.
+     */
+    public void cancel(Timer timer) {
+        if (timer.wheel != this) return;
+        unlink(timer);
+        timer.wheel = null;
+        size--;
+    }
+
+    /**
+     * Runs, in no particular order, every timer whose time is at or before now.  Timers may
+     * schedule themselves or others while they run; any that become due run on the next call.
+     * @param  now  Current game time, normally GameClock.now().
+     */
+    public void advance(double now) {
+        long target = (long) Math.floor(now / resolution);
+        while (true) {
+            runSlot((int) (tick & WHEEL_MASK), now);
+            if (tick >= target) break;
+            tick++;
+            cascade();
+        }
+    }
+
+    /**
+     * Cancels every timer and sends the wheel back to time zero, e.g. when the clock is reset.
+     */
+    public void clear() {
+        while (running != null) {
+            Timer next = running.next;
+            running.prev = null;
+            running.next = null;
+            running.wheel = null;
+            running = next;
+        }
+        for (int wheel = 0; wheel < WHEEL_COUNT; wheel++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                Timer timer = slots[wheel][slot];
+                if (timer == null) continue;
+                timer.prev.next = null;
+                while (timer != null) {
+                    Timer next = timer.next;
+                    timer.prev = null;
+                    timer.next = null;
+                    timer.wheel = null;
+                    timer = next;
+                }
+                slots[wheel][slot] = null;
+            }
+        }
+        tick = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets the number of timers waiting to run.
+     * @return  Scheduled timer count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Runs the due timers of a slot of the first wheel.  Timers that aren't due yet, which can
+     * only happen in the current tick, go back into the slot.
+     */
+    private void runSlot(int slot, double now) {
+        Timer head = slots[0][slot];
+        if (head == null) return;
+        //Detach the list first, so that timers scheduled while it runs don't join it.  Timers run
+        //from it may still cancel the ones after them, see unlink().
+        slots[0][slot] = null;
+        head.prev.next = null;
+        head.prev = null;
+        for (Timer timer = head; timer != null; timer = timer.next) {
+            timer.slotWheel = RUNNING;
+        }
+        running = head;
+        while (running != null) {
+            Timer timer = running;
+            running = timer.next;
+            if (running != null) running.prev = null;
+            timer.next = null;
+            if (timer.time <= now) {
+                timer.wheel = null;
+                size--;
+                timer.run();
+            } else {
+                insert(timer);
+            }
+        }
+    }
+
+    /**
+     * Moves the timers of the slot that the current tick has reached down from each coarser wheel
+     * whose finer wheel has just wrapped around.
+     */
+    private void cascade() {
+        for (int wheel = 1; wheel < WHEEL_COUNT; wheel++) {
+            int shift = WHEEL_BITS * wheel;
+            if ((tick & ((1L << shift) - 1)) != 0) return;
+            int slot = (int) ((tick >> shift) & WHEEL_MASK);
+            Timer timer = slots[wheel][slot];
+            if (timer == null) continue;
+            slots[wheel][slot] = null;
+            timer.prev.next = null;
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                insert(timer);
+                timer = next;
+            }
+        }
+    }
+
+    /**
+     * Links a timer into the slot for its time: on the finest wheel that reaches that far ahead.
+     */
+    private void insert(Timer timer) {
+        long due = Math.max((long) Math.floor(timer.time / resolution), tick);
+        long ahead = Math.min(due - tick, MAX_TICKS_AHEAD);
+        due = tick + ahead;
+        int wheel = 0;
+        while (wheel < WHEEL_COUNT - 1 && ahead >= (1L << (WHEEL_BITS * (wheel + 1)))) {
+            wheel++;
+        }
+        int slot = (int) ((due >> (WHEEL_BITS * wheel)) & WHEEL_MASK);
+        timer.slotWheel = wheel;
+        timer.slot = slot;
+        //Appended at the tail, so timers in a slot run in the order they were scheduled.
+        Timer head = slots[wheel][slot];
+        if (head == null) {
+            timer.prev = timer;
+            timer.next = timer;
+            slots[wheel][slot] = timer;
+        } else {
+            Timer tail = head.prev;
+            tail.next = timer;
+            timer.prev = tail;
+            timer.next = head;
+            head.prev = timer;
+        }
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.slotWheel == RUNNING) {
+            if (timer == running) running = timer.next;
+            if (timer.prev != null) timer.prev.next = timer.next;
+            if (timer.next != null) timer.next.prev = timer.prev;
+            timer.prev = null;
+            timer.next = null;
+            return;
+        }
+        Timer[] wheel = slots[timer.slotWheel];
+        if (timer.next == timer) {
+            wheel[timer.slot] = null;
+        } else {
+            timer.prev.next = timer.next;
+            timer.next.prev = timer.prev;
+            if (wheel[timer.slot] == timer) wheel[timer.slot] = timer.next;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    /**
+     * Callback run by a TimerWheel.  Owners normally create their timers once, e.g. as inner
+     * classes, and schedule them again each time.
+     */
+    public abstract static class Timer {
+
+        private TimerWheel wheel;
+        private Timer prev;
+        private Timer next;
+        private double time;
+        private int slotWheel;
+        private int slot;
+
+        /**
+         * Called once the timer's time has been reached.
+         */
+        protected abstract void run();
+
+        /**
+         * Stops the timer from running, if it is scheduled.
+         */
+        public void cancel() {
+            if (wheel != null) wheel.cancel(this);
+        }
+
+        public boolean isScheduled() {
+            return wheel != null;
+        }
+
+        /**
+         * @return  Game time the timer is, or was last, scheduled to run at.
+         */
+        public double getTime() {
+            return time;
+        }
+    }
+}
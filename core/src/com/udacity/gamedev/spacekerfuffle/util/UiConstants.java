@@ -23,6 +23,7 @@ public class UiConstants {
     public static final String TITLE_TEXT_LINE_ONE = "Space";
     public static final String TITLE_TEXT_LINE_TWO = "Kerfuffle!";
     public static final String PLAY_BUTTON_TEXT = "Play";
+    public static final String ENDLESS_BUTTON_TEXT = "Endless";
     public static final String CONTROLS = "-Controls-";
     public static final String MOVE_CONTROL_LABEL = "Move: arrow keys";
     public static final String FIRE_CONTROL_LABEL = "Fire Laser: Z";
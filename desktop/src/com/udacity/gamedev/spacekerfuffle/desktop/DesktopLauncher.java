@@ -1,12 +1,26 @@
 package com.udacity.gamedev.spacekerfuffle.desktop;
 
+import com.badlogic.gdx.Files;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl.LwjglFileHandle;
 import com.udacity.gamedev.spacekerfuffle.SpaceKerfuffleGame;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
+import com.udacity.gamedev.spacekerfuffle.util.LevelLoader;
 import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
 
+import java.io.File;
+
+/**
+ * Starts the game in a window.  An optional argument names a CSV file that frame timings are
+ * written to on exit.
+ */
 public class DesktopLauncher {
 	public static void main (String[] arg) {
+		LevelLoader.setBufferSource(new MappedBufferSource());
+		if (arg.length > 0) {
+			FrameProfiler.instance.setExitCsvFile(new LwjglFileHandle(new File(arg[0]).getAbsolutePath(), Files.FileType.Absolute));
+		}
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
         config.width = GameplayConstants.DESKTOP_WINDOW_WIDTH;
         config.height = GameplayConstants.DESKTOP_WINDOW_HEIGHT;
@@ -0,0 +1,37 @@
+package com.udacity.gamedev.spacekerfuffle.desktop;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.udacity.gamedev.spacekerfuffle.util.LevelLoader;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Memory-maps files that exist on disk instead of copying them onto the heap.  Files that are
+ * only on the classpath, e.g. inside the dist jar, are read normally.
+ */
+public class MappedBufferSource implements LevelLoader.BufferSource {
+
+    @Override
+    public ByteBuffer open(FileHandle file) {
+        if (file.type() == Files.FileType.Classpath || !file.file().exists()) {
+            return ByteBuffer.wrap(file.readBytes());
+        }
+        try {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file.file(), "r");
+            try {
+                FileChannel channel = randomAccessFile.getChannel();
+                //The mapping stays valid after the channel is closed.
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } finally {
+                randomAccessFile.close();
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't map " + file.path(), e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.udacity.gamedev.spacekerfuffle.headless;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.HeadlessFileHandle;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
+
+import java.io.File;
+
+/**
+ * Runs the level under the headless backend, with no window or GL context.  Optional arguments are
+ * the maximum number of ticks to simulate, the synthetic frame delta in seconds and a CSV file that
+ * frame timings are written to at the end, and one of: a Tiled level JSON to stream instead of the
+ * game's own level, "endless" followed by an optional seed to soak test an endless level, or
+ * "seek" followed by the number of seconds into the game's own level to start at.
+ */
+public class HeadlessLauncher {
+	private static final String ENDLESS_ARG = "endless";
+	private static final String SEEK_ARG = "seek";
+
+	public static void main (String[] arg) {
+		int maxTicks = (arg.length > 0) ? Integer.parseInt(arg[0]) : HeadlessSimulation.DEFAULT_MAX_TICKS;
+		float delta = (arg.length > 1) ? Float.parseFloat(arg[1]) : HeadlessSimulation.DEFAULT_DELTA;
+		if (arg.length > 2) {
+			FrameProfiler.instance.setExitCsvFile(new HeadlessFileHandle(new File(arg[2]).getAbsolutePath(), Files.FileType.Absolute));
+		}
+		HeadlessFileHandle levelFile = null;
+		Long endlessSeed = null;
+		float seekSeconds = 0;
+		if (arg.length > 3 && arg[3].equals(ENDLESS_ARG)) {
+			endlessSeed = (arg.length > 4) ? Long.parseLong(arg[4]) : 0L;
+		} else if (arg.length > 4 && arg[3].equals(SEEK_ARG)) {
+			seekSeconds = Float.parseFloat(arg[4]);
+		} else if (arg.length > 3) {
+			levelFile = new HeadlessFileHandle(new File(arg[3]).getAbsolutePath(), Files.FileType.Absolute);
+		}
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		new HeadlessApplication(new HeadlessSimulation(maxTicks, delta, levelFile, endlessSeed, seekSeconds), config);
+	}
+}
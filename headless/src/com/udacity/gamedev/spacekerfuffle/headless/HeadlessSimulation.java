@@ -0,0 +1,138 @@
+package com.udacity.gamedev.spacekerfuffle.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.ExtendViewport;
+import com.udacity.gamedev.spacekerfuffle.entities.EntityPools;
+import com.udacity.gamedev.spacekerfuffle.level.EndlessSpawnSource;
+import com.udacity.gamedev.spacekerfuffle.level.Level;
+import com.udacity.gamedev.spacekerfuffle.util.Assets;
+import com.udacity.gamedev.spacekerfuffle.util.FrameProfiler;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+import com.udacity.gamedev.spacekerfuffle.util.LevelLoader;
+import com.udacity.gamedev.spacekerfuffle.util.StreamingSpawnSource;
+
+/**
+ * Loads the real level data and drives Level.update() in a tight loop with a fixed synthetic delta,
+ * without rendering.  Reports simulation speed, entity counts and how long it took (in game time)
+ * to reach the boss and the end of the level.  Given a level file, the level is streamed from it
+ * with a StreamingSpawnSource instead, e.g. for stress levels too large to load up front.  Given an
+ * endless seed, an endless level is generated with an immortal player, which runs until maxTicks
+ * and serves as a soak test: the periodic reports include heap usage, which should stay flat.
+ * Given a seek time, the run starts that far into the level, e.g. just before the boss.
+ */
+public class HeadlessSimulation extends ApplicationAdapter {
+
+    public static final String LOG_TAG = HeadlessSimulation.class.getName();
+
+    public static final int DEFAULT_MAX_TICKS = 60 * 60 * 10;
+    public static final float DEFAULT_DELTA = 1f / 60;
+
+    private static final int REPORT_INTERVAL_TICKS = 60 * 10;
+
+    private final int maxTicks;
+    private final float delta;
+    private final FileHandle levelFile;
+    private final Long endlessSeed;
+    private final float seekSeconds;
+
+    public HeadlessSimulation(int maxTicks, float delta) {
+        this(maxTicks, delta, null, null, 0);
+    }
+
+    /**
+     * @param  maxTicks  Maximum number of ticks to simulate.
+     * @param  delta  Synthetic frame delta in seconds.
+     * @param  levelFile  Tiled level JSON to stream, or null for the game's own level.
+     * @param  endlessSeed  Seed of an endless level to generate instead, or null.
+     * @param  seekSeconds  Seconds into the level to start at, see Level.seek().
+     */
+    public HeadlessSimulation(int maxTicks, float delta, FileHandle levelFile, Long endlessSeed, float seekSeconds) {
+        this.maxTicks = maxTicks;
+        this.delta = delta;
+        this.levelFile = levelFile;
+        this.endlessSeed = endlessSeed;
+        this.seekSeconds = seekSeconds;
+    }
+
+    @Override
+    public void create() {
+        Assets.instance.initWithoutRendering();
+
+        //The viewport is never applied, so its world size is set directly.
+        ExtendViewport viewport = new ExtendViewport(
+                GameplayConstants.WORLD_WIDTH,
+                GameplayConstants.WORLD_HEIGHT,
+                GameplayConstants.WORLD_WIDTH,
+                Float.MAX_VALUE
+        );
+        viewport.setWorldSize(GameplayConstants.WORLD_WIDTH, GameplayConstants.WORLD_HEIGHT);
+
+        long loadStart = TimeUtils.nanoTime();
+        StreamingSpawnSource streamingSource = null;
+        Level level;
+        if (endlessSeed != null) {
+            level = new Level(viewport, new EndlessSpawnSource(endlessSeed));
+            level.playerShip.immortal = true;
+        } else if (levelFile != null) {
+            streamingSource = new StreamingSpawnSource(levelFile);
+            level = new Level(viewport, streamingSource);
+        } else {
+            level = new Level(viewport, LevelLoader.getTemplate());
+        }
+        level.playerShip.autoFire = true;
+        if (seekSeconds > 0) {
+            level.seek(seekSeconds);
+        }
+        Gdx.app.log(LOG_TAG, "Level loaded in " + (TimeUtils.nanoTime() - loadStart) / 1000000 + " ms.");
+
+        float bossTime = -1;
+        int peakEntities = 0;
+        int ticks = 0;
+        long start = TimeUtils.nanoTime();
+        while (ticks < maxTicks && level.state == Level.State.PLAYING) {
+            level.update(delta);
+            FrameProfiler.instance.endFrame();
+            ticks++;
+            peakEntities = Math.max(peakEntities, level.getEntityCount());
+            if (bossTime < 0 && level.isBossSpawned()) {
+                bossTime = level.secondsSinceStart();
+                Gdx.app.log(LOG_TAG, "Boss reached at " + bossTime + " s game time (tick " + ticks + ").");
+            }
+            if (ticks % REPORT_INTERVAL_TICKS == 0) {
+                Gdx.app.log(LOG_TAG, "Tick " + ticks + ": " + countsString(level) +
+                        ", heap " + Gdx.app.getJavaHeap() / (1024 * 1024) + " MB.");
+            }
+        }
+        float wallSeconds = (TimeUtils.nanoTime() - start) * MathUtils.nanoToSec;
+        if (streamingSource != null) {
+            streamingSource.close();
+        }
+
+        Gdx.app.log(LOG_TAG, "Finished in state " + level.state + " after " + ticks + " ticks.");
+        Gdx.app.log(LOG_TAG, "Game time: " + level.secondsSinceStart() + " s, wall time: " + wallSeconds + " s.");
+        Gdx.app.log(LOG_TAG, "Ticks/sec: " + (ticks / wallSeconds) + " (" +
+                (level.secondsSinceStart() / wallSeconds) + "x real time).");
+        Gdx.app.log(LOG_TAG, "Boss reached: " + ((bossTime < 0) ? "no" : bossTime + " s") + ".");
+        Gdx.app.log(LOG_TAG, "Final counts: " + countsString(level) + ", peak entities: " + peakEntities + ".");
+        EntityPools.instance.logStats();
+        FrameProfiler.instance.logStats();
+        FrameProfiler.instance.writeExitCsv();
+
+        Gdx.app.exit();
+    }
+
+    /**
+     * Summarizes the level's current entity counts and score.
+     * @param  level  Level being simulated.
+     * @return  Summary string.
+     */
+    private String countsString(Level level) {
+        return level.getEntityCount() + " entities, " +
+                level.getEnemyCount() + " enemies, " +
+                level.getProjectileCount() + " projectiles, score " + level.score;
+    }
+}
@@ -0,0 +1,48 @@
+package com.udacity.gamedev.spacekerfuffle.headless;
+
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.udacity.gamedev.spacekerfuffle.util.LevelBinaryFormat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Build step that compiles Tiled level JSON into the binary spawn tables read by LevelLoader.
+ * Arguments are pairs of JSON file to read and binary file to write, one per level in the sequence.
+ * Run by the compileLevel task.
+ */
+public class LevelCompiler {
+	public static void main (String[] arg) throws IOException {
+		if (arg.length == 0 || arg.length % 2 != 0) {
+			System.err.println("Usage: LevelCompiler <level json> <output file> [<level json> <output file> ...]");
+			System.exit(1);
+		}
+		for (int i = 0; i < arg.length; i += 2) {
+			compile(arg[i], arg[i + 1]);
+		}
+	}
+
+	private static void compile (String jsonPath, String outputPath) throws IOException {
+		JsonValue root;
+		InputStream in = new FileInputStream(jsonPath);
+		try {
+			root = new JsonReader().parse(in);
+		} finally {
+			in.close();
+		}
+		byte[] data = LevelBinaryFormat.compile(root);
+		File outputFile = new File(outputPath);
+		OutputStream out = new FileOutputStream(outputFile);
+		try {
+			out.write(data);
+		} finally {
+			out.close();
+		}
+		System.out.println("Wrote " + data.length + " bytes to " + outputFile.getPath() + ".");
+	}
+}
@@ -0,0 +1,199 @@
+package com.udacity.gamedev.spacekerfuffle.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.viewport.ExtendViewport;
+import com.udacity.gamedev.spacekerfuffle.entities.AbstractEntity;
+import com.udacity.gamedev.spacekerfuffle.entities.Boss;
+import com.udacity.gamedev.spacekerfuffle.entities.BossScript;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemyShip;
+import com.udacity.gamedev.spacekerfuffle.entities.EnemySpawn;
+import com.udacity.gamedev.spacekerfuffle.entities.Explosion;
+import com.udacity.gamedev.spacekerfuffle.entities.Missile;
+import com.udacity.gamedev.spacekerfuffle.entities.MissileExplosion;
+import com.udacity.gamedev.spacekerfuffle.entities.PlayerShip;
+import com.udacity.gamedev.spacekerfuffle.entities.Powerup;
+import com.udacity.gamedev.spacekerfuffle.level.Level;
+import com.udacity.gamedev.spacekerfuffle.level.LevelBackground;
+import com.udacity.gamedev.spacekerfuffle.util.Assets;
+import com.udacity.gamedev.spacekerfuffle.util.GameClock;
+import com.udacity.gamedev.spacekerfuffle.util.GameplayConstants;
+import com.udacity.gamedev.spacekerfuffle.util.LevelLoader;
+import com.udacity.gamedev.spacekerfuffle.util.RenderQueue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+/**
+ * Checks the drawing code that runs before anything reaches the GPU, which the simulation skips:
+ * queues one entity of every EntityType, the background's moving stars, and the level itself
+ * played from the boss's arrival, and fails unless every RenderQueue layer received sprites.
+ * There is no GL context, so a GL20 that does nothing stands in for one while the real texture
+ * atlas loads, and the queue is never submitted to a batch.  Exits with status 1 on failure.
+ */
+public class RenderCheck extends ApplicationAdapter {
+
+    public static final String LOG_TAG = RenderCheck.class.getName();
+
+    private static final float DELTA = 1f / 60;
+    //Long enough for the boss to spawn, come down and open fire.
+    private static final int BOSS_TICKS = 60 * 10;
+
+    public static void main(String[] arg) {
+        new HeadlessApplication(new RenderCheck(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        try {
+            check();
+            Gdx.app.log(LOG_TAG, "Every layer was queued.");
+            Gdx.app.exit();
+        } catch (Throwable t) {
+            Gdx.app.error(LOG_TAG, "Render check failed.", t);
+            System.exit(1);
+        }
+    }
+
+    private void check() {
+        Gdx.gl = Gdx.gl20 = createNullGL();
+        Assets.instance.init(new AssetManager());
+
+        ExtendViewport viewport = new ExtendViewport(
+                GameplayConstants.WORLD_WIDTH,
+                GameplayConstants.WORLD_HEIGHT,
+                GameplayConstants.WORLD_WIDTH,
+                Float.MAX_VALUE
+        );
+        viewport.setWorldSize(GameplayConstants.WORLD_WIDTH, GameplayConstants.WORLD_HEIGHT);
+        CountingQueue queue = new CountingQueue();
+
+        GameClock clock = new GameClock();
+        float x = viewport.getWorldWidth() / 2;
+        float y = viewport.getWorldHeight() / 2;
+        PlayerShip player = new PlayerShip(viewport);
+        for (AbstractEntity.EntityType type : AbstractEntity.EntityType.values()) {
+            AbstractEntity entity = createEntity(type, x, y, viewport, player);
+            entity.setClock(clock);
+            entity.init();
+            //Past the first half of a blink, during which the invulnerable player isn't drawn.
+            clock.tick(GameplayConstants.INVULNERABILITY_BLINK_DURATION * 3 / 4);
+            entity.render(queue);
+            require(queue, RenderQueue.Layer.of(type), type + " entity");
+        }
+
+        LevelBackground background = new LevelBackground(viewport, 0);
+        background.setDensity(LevelBackground.Density.HIGH);
+        background.createStarfield();
+        background.render(queue);
+        require(queue, RenderQueue.Layer.STARS, "background");
+
+        Level level = new Level(viewport, LevelLoader.getTemplate());
+        level.playerShip.immortal = true;
+        level.playerShip.autoFire = true;
+        level.seekToHeight(0);
+        queue.reset();
+        for (int tick = 0; tick < BOSS_TICKS && level.state == Level.State.PLAYING; tick++) {
+            level.update(DELTA);
+            level.render(queue);
+            queue.clear();
+        }
+        if (!level.isBossSpawned()) throw new GdxRuntimeException("The boss never spawned.");
+        require(queue, RenderQueue.Layer.PLAYER, "level");
+        require(queue, RenderQueue.Layer.BOSS, "level");
+        require(queue, RenderQueue.Layer.LASERS, "level");
+        Gdx.app.log(LOG_TAG, "Level from the boss, sprites per layer: " + queue);
+    }
+
+    /**
+     * Creates a standalone entity of a type, with nothing else of the level around it.
+     */
+    private AbstractEntity createEntity(AbstractEntity.EntityType type, float x, float y,
+                                        ExtendViewport viewport, PlayerShip player) {
+        switch (type) {
+            case PLAYER:
+                return player;
+            case BOSS:
+                return new Boss(x, y, viewport, player, BossScript.get(GameplayConstants.BOSS_SCRIPT_FILEPATH));
+            case ENEMY_SHIP:
+                return new EnemyShip().set(new EnemySpawn(x, y,
+                        EnemyShip.MovementPatterns.SIMPLE,
+                        EnemyShip.MovePhaseDuration.MEDIUM,
+                        EnemyShip.Speed.MEDIUM,
+                        EnemyShip.FiringPattern.SIMPLE,
+                        EnemyShip.FireRate.MEDIUM
+                ));
+            case MISSILE:
+                return new Missile().set(x, y, new Vector2(0, 1));
+            case POWERUP:
+                return new Powerup(x, y, Powerup.PowerupType.EXTRA_LIFE);
+            case EXPLOSION:
+                return new Explosion().set(x, y);
+            case MISSILE_EXPLOSION:
+                return new MissileExplosion().set(x, y);
+            default:
+                throw new GdxRuntimeException("No entity to check for type " + type + ".");
+        }
+    }
+
+    private static void require(CountingQueue queue, RenderQueue.Layer layer, String source) {
+        if (queue.counts[layer.ordinal()] == 0) {
+            throw new GdxRuntimeException("Nothing was queued in layer " + layer + " by the " + source + ".");
+        }
+    }
+
+    /**
+     * Creates a GL20 whose methods do nothing and return zero, false or null.
+     */
+    private static GL20 createNullGL() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class[] { GL20.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        Class<?> type = method.getReturnType();
+                        if (type == int.class) return 0;
+                        if (type == float.class) return 0f;
+                        if (type == boolean.class) return false;
+                        return null;
+                    }
+                });
+    }
+
+    /**
+     * Counts the sprites queued in each layer.
+     */
+    private static class CountingQueue extends RenderQueue {
+
+        final int[] counts = new int[RenderQueue.Layer.values().length];
+
+        @Override
+        public void draw(Layer layer, TextureRegion region, float x, float y, float originX, float originY,
+                         float width, float height, float rotation, boolean flipX) {
+            counts[layer.ordinal()]++;
+            super.draw(layer, region, x, y, originX, originY, width, height, rotation, flipX);
+        }
+
+        void reset() {
+            Arrays.fill(counts, 0);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (Layer layer : Layer.values()) {
+                if (builder.length() > 0) builder.append(", ");
+                builder.append(layer.name()).append(' ').append(counts[layer.ordinal()]);
+            }
+            return builder.toString();
+        }
+    }
+}